@@ -0,0 +1,24 @@
+package com.lms.config;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.Collection;
+
+/**
+ * The authenticated principal. Carries the user id loaded during authentication, so
+ * controllers can use {@code @AuthenticationPrincipal AuthenticatedUser} instead of looking
+ * the user up again by email.
+ */
+public class AuthenticatedUser extends User {
+    private final Long id;
+
+    public AuthenticatedUser(Long id, String email, String password, Collection<? extends GrantedAuthority> authorities) {
+        super(email, password, authorities);
+        this.id = id;
+    }
+
+    public Long getId() {
+        return id;
+    }
+}
@@ -0,0 +1,78 @@
+package com.lms.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.Metrics;
+import net.ttddyy.observation.boot.autoconfigure.DataSourceObservationBeanPostProcessor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+/**
+ * The primary pool is built from spring.datasource.* as Spring Boot would. When replica URLs
+ * are configured (lms.datasource.replica-urls, same credentials as the primary), each gets its
+ * own read-only pool and the application DataSource becomes a {@link ReplicaRoutingDataSource}.
+ */
+@Configuration
+public class DataSourceConfig {
+
+    @Value("${lms.datasource.replica-urls:}")
+    private List<String> replicaUrls;
+
+    @Value("${lms.datasource.replica-pool-size:20}")
+    private int replicaPoolSize;
+
+    @Value("${lms.datasource.replica-max-lag:2s}")
+    private Duration replicaMaxLag;
+
+    @Value("${lms.datasource.read-your-writes:5s}")
+    private Duration readYourWrites;
+
+    /**
+     * This bean is excluded from JDBC tracing (jdbc.excluded-data-source-bean-names); the pools
+     * behind it are instrumented individually instead.
+     */
+    @Bean(destroyMethod = "close")
+    public DataSource dataSource(DataSourceProperties properties, Environment environment,
+                                 ObjectProvider<DataSourceObservationBeanPostProcessor> tracing) {
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        DataSourceObservationBeanPostProcessor tracer = tracing.getIfAvailable();
+        UnaryOperator<DataSource> instrument = pool -> tracer == null ? pool
+                : (DataSource) tracer.postProcessAfterInitialization(pool, ((HikariDataSource) pool).getPoolName());
+        if (replicaUrls.isEmpty()) {
+            return instrument.apply(primary);
+        }
+        if (primary.getPoolName() == null) {
+            primary.setPoolName("primary");
+        }
+        primary.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(Metrics.globalRegistry));
+
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < replicaUrls.size(); i++) {
+            HikariConfig config = new HikariConfig();
+            primary.copyStateTo(config);
+            config.setJdbcUrl(replicaUrls.get(i).trim());
+            config.setPoolName("replica-" + (i + 1));
+            config.setMaximumPoolSize(replicaPoolSize);
+            config.setMinimumIdle(Math.min(primary.getMinimumIdle(), replicaPoolSize));
+            config.setReadOnly(true);
+            // A replica that is down at startup is simply left out of rotation
+            config.setInitializationFailTimeout(-1);
+            replicas.add(new HikariDataSource(config));
+        }
+        return new ReplicaRoutingDataSource(primary, replicas, instrument, replicaMaxLag, readYourWrites);
+    }
+}
@@ -1,14 +1,28 @@
 package com.lms.config;
 
+import com.lms.entity.CodingQuestion;
+import com.lms.entity.Course;
+import com.lms.entity.Enrollment;
+import com.lms.entity.McqQuestion;
+import com.lms.entity.Module;
+import com.lms.entity.Progress;
+import com.lms.entity.SubModule;
+import com.lms.entity.User;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
 import org.springframework.boot.ApplicationArguments;
 import org.springframework.boot.ApplicationRunner;
 import org.springframework.core.annotation.Order;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 @Component
 @Order(0) // Run first
 public class DatabaseMigration implements ApplicationRunner {
+    private static final List<Class<?>> SEQUENCE_ID_ENTITIES = List.of(User.class, Course.class, Module.class,
+            SubModule.class, McqQuestion.class, CodingQuestion.class, Enrollment.class, Progress.class);
 
     private final JdbcTemplate jdbcTemplate;
 
@@ -43,6 +57,55 @@ public class DatabaseMigration implements ApplicationRunner {
             System.out.println("Migration info: " + e.getMessage());
         }
         
+        migrateIdsToSequences();
+
+        try {
+            // Per-learner completion bitmaps (CompletionService)
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS completion_bitmaps (" +
+                    "user_id BIGINT NOT NULL REFERENCES users(id) ON DELETE CASCADE, " +
+                    "course_id BIGINT NOT NULL REFERENCES courses(id) ON DELETE CASCADE, " +
+                    "version BIGINT NOT NULL, " +
+                    "bitmap BYTEA NOT NULL, " +
+                    "updated_at TIMESTAMP NOT NULL, " +
+                    "PRIMARY KEY (user_id, course_id))");
+        } catch (Exception e) {
+            System.out.println("Migration info: " + e.getMessage());
+        }
+
+        try {
+            // Keyset pagination of a learner's progress (ProgressRepository.KEYSET_ORDER)
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_progress_user_completed_at " +
+                    "ON progress (user_id, completed_at DESC NULLS LAST, id DESC)");
+        } catch (Exception e) {
+            System.out.println("Migration info: " + e.getMessage());
+        }
+
+        try {
+            // Background jobs (JobQueue); timestamps come from the database clock, shared by all nodes
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS jobs (" +
+                    "id BIGSERIAL PRIMARY KEY, " +
+                    "type TEXT NOT NULL, " +
+                    "payload JSONB NOT NULL, " +
+                    "priority INT NOT NULL DEFAULT 0, " +
+                    "status TEXT NOT NULL, " +
+                    "attempts INT NOT NULL DEFAULT 0, " +
+                    "max_attempts INT NOT NULL, " +
+                    "run_at TIMESTAMPTZ NOT NULL, " +
+                    "locked_by TEXT, " +
+                    "locked_until TIMESTAMPTZ, " +
+                    "last_error TEXT, " +
+                    "result JSONB, " +
+                    "created_at TIMESTAMPTZ NOT NULL, " +
+                    "finished_at TIMESTAMPTZ)");
+            // Claim order of ready jobs, and lease expiry of running ones
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_jobs_queued " +
+                    "ON jobs (priority DESC, run_at, id) WHERE status = 'QUEUED'");
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_jobs_running " +
+                    "ON jobs (locked_until) WHERE status = 'RUNNING'");
+        } catch (Exception e) {
+            System.out.println("Migration info: " + e.getMessage());
+        }
+
         try {
             // Clean up corrupted courses with null titles (from previous bugs)
             int deleted = jdbcTemplate.update("DELETE FROM courses WHERE title IS NULL");
@@ -53,4 +116,42 @@ public class DatabaseMigration implements ApplicationRunner {
             System.out.println("Cleanup info: " + e.getMessage());
         }
     }
+
+    /**
+     * Moves primary keys off IDENTITY columns onto the pooled sequences declared on the entities,
+     * which is what lets Hibernate batch inserts. Sequence names and increments are read from the
+     * entities' @SequenceGenerator, so the database always hands out the blocks Hibernate expects.
+     */
+    private void migrateIdsToSequences() {
+        for (Class<?> entity : SEQUENCE_ID_ENTITIES) {
+            String table = entity.getAnnotation(Table.class).name();
+            SequenceGenerator generator = idGenerator(entity);
+            String sequence = generator.sequenceName();
+            int allocationSize = generator.allocationSize();
+            try {
+                jdbcTemplate.execute("CREATE SEQUENCE IF NOT EXISTS " + sequence + " INCREMENT BY " + allocationSize);
+                jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " INCREMENT BY " + allocationSize);
+                jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN id DROP IDENTITY IF EXISTS");
+                jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN id DROP DEFAULT");
+
+                // Only ever move the sequence forward: other nodes may already hold id blocks past MAX(id)
+                Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+                Long lastValue = jdbcTemplate.queryForObject("SELECT last_value FROM " + sequence, Long.class);
+                if (maxId != null && lastValue != null && maxId >= lastValue) {
+                    jdbcTemplate.queryForObject("SELECT setval(?, ?, false)", Long.class, sequence, maxId + allocationSize);
+                    System.out.println("✓ Database migration: " + sequence + " moved past existing ids");
+                }
+            } catch (Exception e) {
+                System.out.println("Migration info: " + e.getMessage());
+            }
+        }
+    }
+
+    private static SequenceGenerator idGenerator(Class<?> entity) {
+        try {
+            return entity.getDeclaredField("id").getAnnotation(SequenceGenerator.class);
+        } catch (NoSuchFieldException e) {
+            throw new IllegalStateException(entity.getSimpleName() + " has no id field", e);
+        }
+    }
 }
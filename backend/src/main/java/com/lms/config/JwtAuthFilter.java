@@ -1,6 +1,7 @@
 package com.lms.config;
 
 import com.lms.service.JwtService;
+import io.micrometer.common.KeyValue;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -14,6 +15,7 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.filter.ServerHttpObservationFilter;
 
 import java.io.IOException;
 
@@ -54,6 +56,13 @@ public class JwtAuthFilter extends OncePerRequestFilter {
                     );
                     authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                     SecurityContextHolder.getContext().setAuthentication(authToken);
+
+                    // Tag the request span so traces can be filtered by learner
+                    Long userId = jwtService.extractUserId(jwt);
+                    if (userId != null) {
+                        ServerHttpObservationFilter.findObservationContext(request).ifPresent(context ->
+                                context.addHighCardinalityKeyValue(KeyValue.of("lms.userId", userId.toString())));
+                    }
                 }
             }
         } catch (Exception e) {
@@ -0,0 +1,282 @@
+package com.lms.config;
+
+import com.lms.repository.SequenceIdAllocator;
+import com.lms.repository.UserRepository;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Seeds a production-sized dataset for load testing. Only active with the "seed" profile;
+ * volumes come from the lms.seed.* properties (see application-seed.properties).
+ * Every generated learner is learner{n}@loadtest.lms with the password "password123".
+ * Rows are bulk-loaded with COPY, with ids drawn from the table sequences.
+ */
+@Component
+@Profile("seed")
+@Order(2) // Run after DataLoader
+public class LoadTestDataGenerator implements ApplicationRunner {
+    public static final String LEARNER_EMAIL_FORMAT = "learner%d@loadtest.lms";
+    private static final String LEARNER_PASSWORD = "password123";
+    private static final int BATCH_SIZE = 2000;
+    private static final String LOREM = "Lorem ipsum dolor sit amet, consectetur adipiscing elit. ";
+
+    // COPY in CSV: an unquoted empty field is NULL, every string is written quoted
+    private static final String COPY_USER = "COPY users (id, name, email, password, role, created_at, updated_at) " +
+            "FROM STDIN (FORMAT csv)";
+    private static final String COPY_COURSE = "COPY courses (id, title, description, category, difficulty, " +
+            "published, created_at, updated_at) FROM STDIN (FORMAT csv)";
+    private static final String COPY_MODULE = "COPY modules (id, title, order_index, course_id, created_at) " +
+            "FROM STDIN (FORMAT csv)";
+    private static final String COPY_SUB_MODULE = "COPY sub_modules (id, title, order_index, module_id, " +
+            "intro_content, body_content, summary_content, video_url, created_at) FROM STDIN (FORMAT csv)";
+    private static final String COPY_MCQ = "COPY mcq_questions (id, sub_module_id, question, optiona, " +
+            "optionb, optionc, optiond, correct_option, order_index) FROM STDIN (FORMAT csv)";
+    private static final String COPY_CODING = "COPY coding_questions (id, sub_module_id, question, " +
+            "starter_code, solution, hint, order_index) FROM STDIN (FORMAT csv)";
+    private static final String COPY_ENROLLMENT = "COPY enrollments (id, user_id, course_id, status, " +
+            "enrolled_at) FROM STDIN (FORMAT csv)";
+    private static final String COPY_PROGRESS = "COPY progress (id, user_id, sub_module_id, completed, " +
+            "completed_at) FROM STDIN (FORMAT csv)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SequenceIdAllocator idAllocator;
+    private final UserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final Random random = new Random(42);
+
+    @Value("${lms.seed.users:1000}")
+    private int users;
+    @Value("${lms.seed.courses:50}")
+    private int courses;
+    @Value("${lms.seed.modules-per-course:8}")
+    private int modulesPerCourse;
+    @Value("${lms.seed.submodules-per-module:6}")
+    private int subModulesPerModule;
+    @Value("${lms.seed.questions-per-submodule:3}")
+    private int questionsPerSubModule;
+    @Value("${lms.seed.enrollments-per-user:3}")
+    private int enrollmentsPerUser;
+    @Value("${lms.seed.completion-ratio:0.5}")
+    private double completionRatio;
+    @Value("${lms.seed.body-paragraphs:20}")
+    private int bodyParagraphs;
+
+    public LoadTestDataGenerator(JdbcTemplate jdbcTemplate,
+                                 SequenceIdAllocator idAllocator,
+                                 UserRepository userRepository,
+                                 PasswordEncoder passwordEncoder) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.idAllocator = idAllocator;
+        this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (userRepository.existsByEmail(String.format(LEARNER_EMAIL_FORMAT, 0))) {
+            System.out.println("Seed info: load-test data already present, skipping");
+            return;
+        }
+        long started = System.currentTimeMillis();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        long[] userIds = seedUsers(now);
+        long[] courseIds = idAllocator.allocate("courses", courses);
+        long[][] subModulesByCourse = seedCourses(courseIds, now);
+        seedEnrollmentsAndProgress(userIds, courseIds, subModulesByCourse, now);
+
+        System.out.println("✓ Load-test data seeded in " + (System.currentTimeMillis() - started) + " ms");
+    }
+
+    private long[] seedUsers(Timestamp now) {
+        // One shared hash: hashing per user would dominate seeding time
+        String hash = passwordEncoder.encode(LEARNER_PASSWORD);
+        long[] ids = idAllocator.allocate("users", users);
+        List<Object[]> rows = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < users; i++) {
+            rows.add(new Object[]{ids[i], "Learner " + i, String.format(LEARNER_EMAIL_FORMAT, i), hash, "LEARNER", now, now});
+            flushIfFull(COPY_USER, rows);
+        }
+        flush(COPY_USER, rows);
+        System.out.println("✓ Seeded " + users + " users");
+        return ids;
+    }
+
+    private long[][] seedCourses(long[] courseIds, Timestamp now) {
+        String[] categories = {"Programming", "Data Science", "Design", "Cloud", "Security", "Business"};
+        String[] difficulties = {"BEGINNER", "INTERMEDIATE", "ADVANCED"};
+        String body = LOREM.repeat(bodyParagraphs);
+
+        long[][] subModulesByCourse = new long[courses][];
+        List<Object[]> courseRows = new ArrayList<>(BATCH_SIZE);
+        List<Object[]> moduleRows = new ArrayList<>(BATCH_SIZE);
+        List<Object[]> subModuleRows = new ArrayList<>(BATCH_SIZE);
+        List<Object[]> mcqRows = new ArrayList<>(BATCH_SIZE);
+        List<Object[]> codingRows = new ArrayList<>(BATCH_SIZE);
+
+        for (int c = 0; c < courses; c++) {
+            courseRows.add(new Object[]{courseIds[c], "Load Test Course " + c, LOREM.repeat(3),
+                    categories[c % categories.length], difficulties[c % difficulties.length], true, now, now});
+
+            long[] moduleIds = idAllocator.allocate("modules", modulesPerCourse);
+            long[] subModuleIds = idAllocator.allocate("sub_modules", modulesPerCourse * subModulesPerModule);
+            long[] mcqIds = idAllocator.allocate("mcq_questions", subModuleIds.length * questionsPerSubModule);
+            long[] codingIds = idAllocator.allocate("coding_questions", subModuleIds.length * questionsPerSubModule);
+            subModulesByCourse[c] = subModuleIds;
+            int question = 0;
+            for (int m = 0; m < modulesPerCourse; m++) {
+                moduleRows.add(new Object[]{moduleIds[m], "Module " + m, m, courseIds[c], now});
+                for (int s = 0; s < subModulesPerModule; s++) {
+                    long subModuleId = subModuleIds[m * subModulesPerModule + s];
+                    subModuleRows.add(new Object[]{subModuleId, "Lesson " + m + "." + s, s, moduleIds[m],
+                            LOREM, body, LOREM, null, now});
+                    for (int q = 0; q < questionsPerSubModule; q++, question++) {
+                        mcqRows.add(new Object[]{mcqIds[question], subModuleId, "Question " + q, "A", "B", "C", "D", "A", q});
+                        codingRows.add(new Object[]{codingIds[question], subModuleId, "Exercise " + q,
+                                "class Solution {}", "class Solution { }", "Read the lesson", q});
+                    }
+                }
+            }
+            // Parents before children, so every level is flushed together
+            if (courseRows.size() >= BATCH_SIZE || moduleRows.size() >= BATCH_SIZE
+                    || subModuleRows.size() >= BATCH_SIZE || mcqRows.size() >= BATCH_SIZE) {
+                flush(COPY_COURSE, courseRows);
+                flush(COPY_MODULE, moduleRows);
+                flush(COPY_SUB_MODULE, subModuleRows);
+                flush(COPY_MCQ, mcqRows);
+                flush(COPY_CODING, codingRows);
+            }
+        }
+        flush(COPY_COURSE, courseRows);
+        flush(COPY_MODULE, moduleRows);
+        flush(COPY_SUB_MODULE, subModuleRows);
+        flush(COPY_MCQ, mcqRows);
+        flush(COPY_CODING, codingRows);
+        System.out.println("✓ Seeded " + courses + " courses with " + modulesPerCourse + " modules x "
+                + subModulesPerModule + " lessons each");
+        return subModulesByCourse;
+    }
+
+    private void seedEnrollmentsAndProgress(long[] userIds, long[] courseIds, long[][] subModulesByCourse,
+                                            Timestamp now) {
+        int perUser = Math.min(enrollmentsPerUser, courses);
+        List<Object[]> enrollmentRows = new ArrayList<>(BATCH_SIZE);
+        List<Object[]> progressRows = new ArrayList<>(BATCH_SIZE);
+        IdPool enrollmentIds = new IdPool("enrollments");
+        IdPool progressIds = new IdPool("progress");
+        long enrollments = 0;
+        long progress = 0;
+
+        for (long userId : userIds) {
+            int firstCourse = random.nextInt(courses);
+            for (int e = 0; e < perUser; e++) {
+                int course = (firstCourse + e) % courses;
+                enrollmentRows.add(new Object[]{enrollmentIds.next(), userId, courseIds[course], "ACTIVE", now});
+                enrollments++;
+
+                long[] lessons = subModulesByCourse[course];
+                int completed = (int) Math.round(lessons.length * completionRatio * random.nextDouble() * 2);
+                completed = Math.min(completed, lessons.length);
+                for (int l = 0; l < completed; l++) {
+                    progressRows.add(new Object[]{progressIds.next(), userId, lessons[l], true, now});
+                    progress++;
+                }
+            }
+            // Progress references users and sub_modules only, so it can be flushed independently
+            flushIfFull(COPY_ENROLLMENT, enrollmentRows);
+            flushIfFull(COPY_PROGRESS, progressRows);
+        }
+        flush(COPY_ENROLLMENT, enrollmentRows);
+        flush(COPY_PROGRESS, progressRows);
+        System.out.println("✓ Seeded " + enrollments + " enrollments and " + progress + " progress rows");
+    }
+
+    private void flushIfFull(String copy, List<Object[]> rows) {
+        if (rows.size() >= BATCH_SIZE) {
+            flush(copy, rows);
+        }
+    }
+
+    /**
+     * Streams the rows to the server with one COPY instead of a batch of INSERTs: no per-row
+     * statement execution or parameter binding, and the whole batch is a single round trip.
+     */
+    private void flush(String copy, List<Object[]> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        StringBuilder csv = new StringBuilder();
+        for (Object[] row : rows) {
+            for (int i = 0; i < row.length; i++) {
+                if (i > 0) {
+                    csv.append(',');
+                }
+                appendCsv(csv, row[i]);
+            }
+            csv.append('\n');
+        }
+        jdbcTemplate.execute((ConnectionCallback<Long>) connection ->
+                copyIn(connection.unwrap(PGConnection.class).getCopyAPI(), copy, csv));
+        rows.clear();
+    }
+
+    private static long copyIn(CopyManager copyManager, String copy, CharSequence csv) throws SQLException {
+        try {
+            return copyManager.copyIn(copy, new StringReader(csv.toString()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void appendCsv(StringBuilder csv, Object value) {
+        if (value == null) {
+            return;
+        }
+        if (value instanceof String text) {
+            csv.append('"').append(text.replace("\"", "\"\"")).append('"');
+        } else {
+            // Numbers, booleans and Timestamp all print in a form Postgres parses
+            csv.append(value);
+        }
+    }
+
+    /**
+     * Draws ids from the sequence one batch at a time instead of one round trip per parent row.
+     */
+    private class IdPool {
+        private final String table;
+        private long[] ids = new long[0];
+        private int next;
+
+        IdPool(String table) {
+            this.table = table;
+        }
+
+        long next() {
+            if (next == ids.length) {
+                ids = idAllocator.allocate(table, BATCH_SIZE);
+                next = 0;
+            }
+            return ids[next++];
+        }
+    }
+}
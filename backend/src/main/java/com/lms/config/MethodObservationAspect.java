@@ -0,0 +1,62 @@
+package com.lms.config;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+/**
+ * Observes every public controller and service method as lms.method.invocations,
+ * which yields both a timer (tagged by layer, class, method and error) and a child
+ * span of the current request trace. Id arguments such as courseId and userId are
+ * attached to the span only, to keep metric cardinality bounded. Repository calls are
+ * covered by Spring Data's spring.data.repository.invocations timer and JDBC spans.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class MethodObservationAspect {
+    private static final Set<String> TRACED_ARGUMENTS =
+            Set.of("id", "userId", "courseId", "moduleId", "subModuleId");
+
+    private final ObservationRegistry observationRegistry;
+
+    @Around("execution(public * com.lms.controller..*(..))")
+    public Object observeController(ProceedingJoinPoint joinPoint) throws Throwable {
+        return observe(joinPoint, "controller");
+    }
+
+    @Around("execution(public * com.lms.service..*(..)) && @within(org.springframework.stereotype.Service)")
+    public Object observeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return observe(joinPoint, "service");
+    }
+
+    private Object observe(ProceedingJoinPoint joinPoint, String layer) throws Throwable {
+        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+        String className = signature.getDeclaringType().getSimpleName();
+
+        Observation observation = Observation.createNotStarted("lms.method.invocations", observationRegistry)
+                .contextualName(className + "." + signature.getName())
+                .lowCardinalityKeyValue("layer", layer)
+                .lowCardinalityKeyValue("class", className)
+                .lowCardinalityKeyValue("method", signature.getName());
+
+        String[] names = signature.getParameterNames();
+        Object[] args = joinPoint.getArgs();
+        for (int i = 0; names != null && i < names.length; i++) {
+            if (TRACED_ARGUMENTS.contains(names[i]) && args[i] != null) {
+                observation.highCardinalityKeyValue(KeyValue.of("lms." + names[i], String.valueOf(args[i])));
+            }
+        }
+
+        // Starts the observation, opens its scope, records any error and stops it
+        return observation.<Object, Throwable>observeChecked(joinPoint::proceed);
+    }
+}
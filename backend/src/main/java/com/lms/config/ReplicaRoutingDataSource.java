@@ -0,0 +1,223 @@
+package com.lms.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Sends read-only transactions to streaming replicas and everything else to the primary.
+ * The physical connection is only picked on the first statement, once the transaction's
+ * read-only flag is known. Reads still go to the primary when:
+ * <ul>
+ *   <li>no replica is within the allowed lag (checked every second against the primary's WAL position),</li>
+ *   <li>the current user ran a read-write transaction within the read-your-writes window, or</li>
+ *   <li>the code runs inside {@link #usePrimary}, e.g. to rebuild a shared cache right after a change.</li>
+ * </ul>
+ * The read-your-writes window is tracked per node.
+ */
+public class ReplicaRoutingDataSource extends LazyConnectionDataSourceProxy implements Closeable {
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+    private static final ThreadLocal<Integer> PRIMARY_PINS = ThreadLocal.withInitial(() -> 0);
+
+    private final HikariDataSource primaryPool;
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final double maxLagSeconds;
+    private final long readYourWritesNanos;
+    private final Map<String, Long> primaryUntil = new ConcurrentHashMap<>();
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private final ScheduledExecutorService monitor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "replica-monitor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * @param instrument wraps each pool for statement tracing; the pools are wrapped here rather than
+     *                   this DataSource, because tracing inspects every connection as soon as it's obtained
+     */
+    public ReplicaRoutingDataSource(HikariDataSource primary, List<HikariDataSource> replicas,
+                                    UnaryOperator<DataSource> instrument, Duration maxLag, Duration readYourWrites) {
+        this.primaryPool = primary;
+        this.primary = instrument.apply(primary);
+        this.replicas = replicas.stream().map(pool -> new Replica(pool, instrument.apply(pool))).toList();
+        this.maxLagSeconds = maxLag.toMillis() / 1000.0;
+        this.readYourWritesNanos = readYourWrites.toNanos();
+        setTargetDataSource(new Router());
+        afterPropertiesSet();
+
+        for (Replica replica : this.replicas) {
+            Gauge.builder("lms.datasource.replica.lag", replica, r -> r.lagSeconds)
+                    .baseUnit("seconds").tag("pool", replica.pool.getPoolName())
+                    .register(Metrics.globalRegistry);
+            Gauge.builder("lms.datasource.replica.available", replica, r -> r.available ? 1 : 0)
+                    .tag("pool", replica.pool.getPoolName())
+                    .register(Metrics.globalRegistry);
+        }
+        monitor.scheduleWithFixedDelay(this::checkReplicas, 0, 1, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Runs {@code work} against the primary. Only affects transactions that haven't touched
+     * the database yet, so call it before (or at the start of) the transaction.
+     */
+    public static <T> T usePrimary(Supplier<T> work) {
+        PRIMARY_PINS.set(PRIMARY_PINS.get() + 1);
+        try {
+            return work.get();
+        } finally {
+            PRIMARY_PINS.set(PRIMARY_PINS.get() - 1);
+        }
+    }
+
+    public static void usePrimary(Runnable work) {
+        usePrimary(() -> {
+            work.run();
+            return null;
+        });
+    }
+
+    @Override
+    public void close() {
+        monitor.shutdownNow();
+        replicas.forEach(replica -> replica.pool.close());
+        primaryPool.close();
+    }
+
+    private DataSource route() {
+        boolean transaction = TransactionSynchronizationManager.isActualTransactionActive();
+        boolean readOnly = TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        String user = currentUser();
+
+        if (transaction && !readOnly) {
+            if (user != null) {
+                primaryUntil.put(user, System.nanoTime() + readYourWritesNanos);
+            }
+            return primary;
+        }
+        if (!readOnly || PRIMARY_PINS.get() > 0 || recentlyWrote(user)) {
+            return primary;
+        }
+        int size = replicas.size();
+        int start = Math.floorMod(nextReplica.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.available) {
+                return replica.dataSource;
+            }
+        }
+        return primary;
+    }
+
+    private boolean recentlyWrote(String user) {
+        if (user == null) {
+            return false;
+        }
+        Long until = primaryUntil.get(user);
+        if (until == null) {
+            return false;
+        }
+        if (until - System.nanoTime() > 0) {
+            return true;
+        }
+        primaryUntil.remove(user, until);
+        return false;
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.isAuthenticated() ? authentication.getName() : null;
+    }
+
+    private void checkReplicas() {
+        String primaryLsn;
+        try (Connection connection = primaryPool.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT pg_current_wal_lsn()::text")) {
+            rs.next();
+            primaryLsn = rs.getString(1);
+        } catch (SQLException e) {
+            // Can't tell how far behind the replicas are; keep the last verdict
+            log.warn("Replica lag check could not read the primary WAL position: {}", e.getMessage());
+            return;
+        }
+
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.pool.getConnection();
+                 PreparedStatement statement = connection.prepareStatement(
+                         "SELECT COALESCE(pg_wal_lsn_diff(?::pg_lsn, pg_last_wal_replay_lsn()), 0), " +
+                         "COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0)")) {
+                statement.setString(1, primaryLsn);
+                try (ResultSet rs = statement.executeQuery()) {
+                    rs.next();
+                    // An idle primary leaves the replay timestamp behind, so time lag only counts while WAL is pending
+                    double lag = rs.getDouble(1) > 0 ? rs.getDouble(2) : 0;
+                    replica.update(true, lag, lag <= maxLagSeconds);
+                }
+            } catch (SQLException e) {
+                replica.update(false, Double.NaN, false);
+            }
+        }
+        primaryUntil.values().removeIf(until -> until - System.nanoTime() <= 0);
+    }
+
+    private class Router extends AbstractDataSource {
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return route().getConnection();
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return route().getConnection(username, password);
+        }
+    }
+
+    private static class Replica {
+        private final HikariDataSource pool;
+        private final DataSource dataSource;
+        private volatile boolean available;
+        private volatile double lagSeconds = Double.NaN;
+
+        Replica(HikariDataSource pool, DataSource dataSource) {
+            this.pool = pool;
+            this.dataSource = dataSource;
+        }
+
+        void update(boolean reachable, double lag, boolean withinLag) {
+            boolean nowAvailable = reachable && withinLag;
+            if (nowAvailable != available) {
+                log.info("Replica {} {} (lag {} s)", pool.getPoolName(),
+                        nowAvailable ? "is serving reads" : "taken out of rotation", lag);
+            }
+            lagSeconds = lag;
+            available = nowAvailable;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.lms.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Map;
+
+/**
+ * Tracks SQL statements per HTTP request. Warns when a request crosses the threshold,
+ * naming the most repeated statement shape (the usual N+1 signature), records the count
+ * as the lms.sql.statements metric and, when enabled, returns it as X-SQL-Statement-Count.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class SqlStatementCountFilter extends OncePerRequestFilter {
+    public static final String HEADER = "X-SQL-Statement-Count";
+    private static final Logger log = LoggerFactory.getLogger(SqlStatementCountFilter.class);
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${lms.sql.statement-warn-threshold:30}")
+    private int warnThreshold;
+
+    @Value("${lms.sql.expose-count-header:false}")
+    private boolean exposeHeader;
+
+    public SqlStatementCountFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        SqlStatementCounter.Stats stats = SqlStatementCounter.start();
+        HttpServletResponse target = exposeHeader ? new CountHeaderResponse(response, stats) : response;
+        try {
+            filterChain.doFilter(request, target);
+        } finally {
+            SqlStatementCounter.stop();
+            if (exposeHeader && !response.isCommitted()) {
+                response.setHeader(HEADER, String.valueOf(stats.getTotal()));
+            }
+            report(request, stats);
+        }
+    }
+
+    private void report(HttpServletRequest request, SqlStatementCounter.Stats stats) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+
+        DistributionSummary.builder("lms.sql.statements")
+                .description("SQL statements issued through Hibernate per HTTP request")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(stats.getTotal());
+
+        if (stats.getTotal() > warnThreshold) {
+            Map.Entry<String, Integer> worst = stats.mostRepeated();
+            log.warn("{} {} issued {} SQL statements (threshold {}); most repeated x{}: {}",
+                    request.getMethod(), uri, stats.getTotal(), warnThreshold,
+                    worst != null ? worst.getValue() : 0, worst != null ? worst.getKey() : "-");
+        }
+    }
+
+    /**
+     * Sets the count header as soon as the body starts, since headers can't be added once
+     * the response is committed. Response DTOs are fully mapped by then.
+     */
+    private static class CountHeaderResponse extends HttpServletResponseWrapper {
+        private final SqlStatementCounter.Stats stats;
+
+        CountHeaderResponse(HttpServletResponse response, SqlStatementCounter.Stats stats) {
+            super(response);
+            this.stats = stats;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            setCountHeader();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            setCountHeader();
+            return super.getWriter();
+        }
+
+        private void setCountHeader() {
+            if (!isCommitted()) {
+                setHeader(HEADER, String.valueOf(stats.getTotal()));
+            }
+        }
+    }
+}
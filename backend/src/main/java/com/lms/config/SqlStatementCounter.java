@@ -0,0 +1,70 @@
+package com.lms.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Counts SQL statements issued through Hibernate on the current thread, grouped by
+ * statement shape (the SQL text with bind markers), so repeated lazy loads show up
+ * as one shape with a high count. Plain JdbcTemplate statements are not seen here.
+ */
+@Component
+public class SqlStatementCounter implements StatementInspector, HibernatePropertiesCustomizer {
+    private static final ThreadLocal<Stats> CURRENT = new ThreadLocal<>();
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put("hibernate.session_factory.statement_inspector", this);
+    }
+
+    @Override
+    public String inspect(String sql) {
+        Stats stats = CURRENT.get();
+        if (stats != null) {
+            stats.record(sql);
+        }
+        return sql;
+    }
+
+    public static Stats start() {
+        Stats stats = new Stats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    public static void stop() {
+        CURRENT.remove();
+    }
+
+    public static class Stats {
+        private int total;
+        private final Map<String, Integer> byShape = new HashMap<>();
+
+        void record(String sql) {
+            total++;
+            byShape.merge(normalize(sql), 1, Integer::sum);
+        }
+
+        public int getTotal() {
+            return total;
+        }
+
+        public Map<String, Integer> getByShape() {
+            return byShape;
+        }
+
+        public Map.Entry<String, Integer> mostRepeated() {
+            return byShape.entrySet().stream()
+                    .max(Map.Entry.comparingByValue())
+                    .orElse(null);
+        }
+
+        private static String normalize(String sql) {
+            return sql.replaceAll("\\s+", " ").trim();
+        }
+    }
+}
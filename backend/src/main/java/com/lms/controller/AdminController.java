@@ -1,29 +1,55 @@
 package com.lms.controller;
 
+import com.lms.dto.request.BulkEnrollmentRequest;
 import com.lms.dto.request.CourseRequest;
+import com.lms.dto.request.UserImportRequest;
+import com.lms.dto.response.BulkEnrollmentResponse;
 import com.lms.dto.response.CourseResponse;
+import com.lms.dto.response.JobResponse;
+import com.lms.dto.response.UserImportResponse;
 import com.lms.entity.User;
 import com.lms.repository.UserRepository;
 import com.lms.service.AuthService;
+import com.lms.service.BulkEnrollmentJob;
 import com.lms.service.CourseService;
+import com.lms.service.CourseTransferService;
+import com.lms.service.EnrollmentService;
+import com.lms.service.JobQueue;
+import com.lms.service.ReportService;
+import com.lms.service.UserProvisioningService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/admin")
 @PreAuthorize("hasRole('ADMIN')")
 @RequiredArgsConstructor
 public class AdminController {
+    private static final int MAX_JOBS_PER_PAGE = 500;
+
     private final CourseService courseService;
+    private final CourseTransferService courseTransferService;
+    private final ReportService reportService;
+    private final EnrollmentService enrollmentService;
+    private final UserProvisioningService userProvisioningService;
     private final AuthService authService;
     private final UserRepository userRepository;
+    private final JobQueue jobQueue;
+    private final BulkEnrollmentJob bulkEnrollmentJob;
 
     @GetMapping("/courses")
     public ResponseEntity<List<CourseResponse>> getAllCourses() {
@@ -68,4 +94,97 @@ public class AdminController {
     public ResponseEntity<CourseResponse> unpublishCourse(@PathVariable Long id) {
         return ResponseEntity.ok(courseService.setPublished(id, false));
     }
+
+    @PostMapping("/courses/{id}/enrollments/bulk")
+    public ResponseEntity<BulkEnrollmentResponse> bulkEnroll(
+            @PathVariable Long id,
+            @RequestBody BulkEnrollmentRequest request
+    ) {
+        return ResponseEntity.ok(enrollmentService.bulkEnroll(id, request));
+    }
+
+    /**
+     * Same as /bulk, but run in the background; poll GET /api/admin/jobs/{jobId} for the result.
+     */
+    @PostMapping("/courses/{id}/enrollments/bulk-jobs")
+    public ResponseEntity<JobResponse> submitBulkEnrollment(
+            @PathVariable Long id,
+            @RequestBody BulkEnrollmentRequest request
+    ) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(bulkEnrollmentJob.submit(id, request));
+    }
+
+    @PostMapping(value = "/users/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<UserImportResponse> importUsers(@RequestBody List<UserImportRequest> users) {
+        return ResponseEntity.ok(userProvisioningService.importUsers(users));
+    }
+
+    @PostMapping(value = "/users/import", consumes = "text/csv")
+    public ResponseEntity<UserImportResponse> importUsersCsv(HttpServletRequest request) throws IOException {
+        return ResponseEntity.ok(userProvisioningService.importCsv(request.getReader()));
+    }
+
+    @PostMapping(value = "/courses/import", consumes = {"application/x-ndjson", MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<List<CourseResponse>> importCourses(
+            HttpServletRequest request,
+            @AuthenticationPrincipal UserDetails userDetails
+    ) throws IOException {
+        User user = authService.getCurrentUser(userDetails.getUsername());
+        return ResponseEntity.ok(courseTransferService.importCourses(request.getInputStream(), user.getId()));
+    }
+
+    @GetMapping("/courses/{id}/export")
+    public ResponseEntity<StreamingResponseBody> exportCourse(@PathVariable Long id) {
+        courseTransferService.checkExportable(id);
+        StreamingResponseBody body = output -> courseTransferService.exportCourse(id, output);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"course-" + id + ".json\"")
+                .body(body);
+    }
+
+    @GetMapping(value = "/reports/progress.csv", produces = "text/csv")
+    public ResponseEntity<StreamingResponseBody> exportProgressReport() {
+        return csvAttachment("progress.csv", reportService::exportProgress);
+    }
+
+    @GetMapping(value = "/reports/enrollments.csv", produces = "text/csv")
+    public ResponseEntity<StreamingResponseBody> exportEnrollmentReport() {
+        return csvAttachment("enrollments.csv", reportService::exportEnrollments);
+    }
+
+    @GetMapping("/jobs")
+    public ResponseEntity<List<JobResponse>> getJobs(
+            @RequestParam(required = false) JobQueue.Status status,
+            @RequestParam(defaultValue = "50") int limit
+    ) {
+        return ResponseEntity.ok(jobQueue.getJobs(status, Math.max(1, Math.min(limit, MAX_JOBS_PER_PAGE))));
+    }
+
+    @GetMapping("/jobs/summary")
+    public ResponseEntity<Map<JobQueue.Status, Long>> getJobSummary() {
+        return ResponseEntity.ok(jobQueue.countByStatus());
+    }
+
+    @GetMapping("/jobs/{id}")
+    public ResponseEntity<JobResponse> getJob(@PathVariable Long id) {
+        return ResponseEntity.ok(jobQueue.getJob(id));
+    }
+
+    @PostMapping("/jobs/{id}/retry")
+    public ResponseEntity<JobResponse> retryJob(@PathVariable Long id) {
+        return ResponseEntity.ok(jobQueue.retry(id));
+    }
+
+    @PostMapping("/jobs/{id}/cancel")
+    public ResponseEntity<JobResponse> cancelJob(@PathVariable Long id) {
+        return ResponseEntity.ok(jobQueue.cancel(id));
+    }
+
+    private ResponseEntity<StreamingResponseBody> csvAttachment(String filename, StreamingResponseBody body) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("text/csv; charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .body(body);
+    }
 }
@@ -2,11 +2,14 @@ package com.lms.controller;
 
 import com.lms.dto.request.CourseRequest;
 import com.lms.dto.response.CourseResponse;
+import com.lms.dto.response.SuggestionResponse;
 import com.lms.entity.User;
 import com.lms.service.AuthService;
 import com.lms.service.CourseService;
+import com.lms.service.CourseSnapshotService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -20,6 +23,7 @@ import java.util.List;
 public class CourseController {
     private final CourseService courseService;
     private final AuthService authService;
+    private final CourseSnapshotService courseSnapshotService;
 
     @GetMapping
     public ResponseEntity<List<CourseResponse>> getAllCourses() {
@@ -27,8 +31,16 @@ public class CourseController {
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<CourseResponse> getCourse(@PathVariable Long id) {
-        return ResponseEntity.ok(courseService.getCourseById(id));
+    public ResponseEntity<?> getCourse(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
+    ) {
+        CourseSnapshotService.Snapshot snapshot = courseSnapshotService.get(id);
+        if (snapshot == null) {
+            return ResponseEntity.ok(courseService.getCourseById(id));
+        }
+        // Published course: a byte copy of the pre-serialised snapshot
+        return PrecompressedResponses.ok(snapshot.payload(), acceptEncoding, "course");
     }
 
     @GetMapping("/categories")
@@ -36,6 +48,14 @@ public class CourseController {
         return ResponseEntity.ok(courseService.getAllCategories());
     }
 
+    @GetMapping("/suggest")
+    public ResponseEntity<List<SuggestionResponse>> suggest(
+            @RequestParam("q") String query,
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        return ResponseEntity.ok(courseService.suggest(query, limit));
+    }
+
     @PostMapping
     public ResponseEntity<CourseResponse> createCourse(
             @Valid @RequestBody CourseRequest request,
@@ -0,0 +1,25 @@
+package com.lms.controller;
+
+import com.lms.dto.response.LearningSessionResponse;
+import com.lms.service.LearningSessionService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/learn")
+@RequiredArgsConstructor
+public class LearningController {
+    private final LearningSessionService learningSessionService;
+
+    @GetMapping("/{courseId}")
+    public ResponseEntity<LearningSessionResponse> getSession(
+            @PathVariable Long courseId,
+            @RequestParam(required = false) Long lessonId,
+            @AuthenticationPrincipal UserDetails userDetails
+    ) {
+        return ResponseEntity.ok(learningSessionService.getSession(userDetails.getUsername(), courseId, lessonId));
+    }
+}
@@ -0,0 +1,81 @@
+package com.lms.controller;
+
+import com.lms.service.PrecompressedJson;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Locale;
+
+/**
+ * Writes {@link PrecompressedJson} payloads, picking the gzip copy when the client accepts it.
+ * The two encodings are different representations, so the gzip copy gets its own ETag (the
+ * payload's with a -gzip suffix) and If-None-Match is answered with 304 by Spring from
+ * whichever was sent. Bytes sent per response are recorded as lms.payload.bytes, tagged by
+ * payload and encoding.
+ */
+final class PrecompressedResponses {
+
+    private PrecompressedResponses() {
+    }
+
+    static ResponseEntity<byte[]> ok(PrecompressedJson payload, String acceptEncoding, String name) {
+        boolean gzip = payload.gzip() != null && acceptsGzip(acceptEncoding);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(gzip ? gzipEtag(payload.etag()) : payload.etag())
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            Metrics.summary("lms.payload.bytes", "payload", name, "encoding", "gzip").record(payload.gzip().length);
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(payload.gzip());
+        }
+        Metrics.summary("lms.payload.bytes", "payload", name, "encoding", "identity").record(payload.json().length);
+        return response.body(payload.json());
+    }
+
+    /**
+     * Whether the Accept-Encoding header allows gzip: listed (or covered by *) with a non-zero q-value.
+     * An explicit gzip entry wins over *, so "gzip;q=0, *" still refuses it.
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Double wildcard = null;
+        for (String entry : acceptEncoding.split(",")) {
+            String[] parts = entry.split(";");
+            String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+            double q = qValue(parts);
+            if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                return q > 0;
+            }
+            if (coding.equals("*")) {
+                wildcard = q;
+            }
+        }
+        return wildcard != null && wildcard > 0;
+    }
+
+    private static double qValue(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String parameter = parts[i].trim();
+            if (parameter.regionMatches(true, 0, "q=", 0, 2)) {
+                try {
+                    return Double.parseDouble(parameter.substring(2).trim());
+                } catch (NumberFormatException e) {
+                    // A malformed weight is treated as a refusal rather than guessed at
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+
+    // "abc" -> "abc-gzip", keeping the quotes
+    private static String gzipEtag(String etag) {
+        return etag.substring(0, etag.length() - 1) + "-gzip\"";
+    }
+}
@@ -1,5 +1,6 @@
 package com.lms.controller;
 
+import com.lms.dto.response.ProgressPageResponse;
 import com.lms.dto.response.ProgressResponse;
 import com.lms.entity.User;
 import com.lms.service.AuthService;
@@ -20,9 +21,13 @@ public class ProgressController {
     private final AuthService authService;
 
     @GetMapping
-    public ResponseEntity<List<ProgressResponse>> getMyProgress(@AuthenticationPrincipal UserDetails userDetails) {
+    public ResponseEntity<ProgressPageResponse> getMyProgress(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") int limit,
+            @AuthenticationPrincipal UserDetails userDetails
+    ) {
         User user = authService.getCurrentUser(userDetails.getUsername());
-        return ResponseEntity.ok(progressService.getUserProgress(user.getId()));
+        return ResponseEntity.ok(progressService.getUserProgress(user.getId(), cursor, limit));
     }
 
     @GetMapping("/course/{courseId}")
@@ -2,9 +2,11 @@ package com.lms.controller;
 
 import com.lms.dto.request.SubModuleRequest;
 import com.lms.dto.response.SubModuleResponse;
+import com.lms.service.LessonPayloadService;
 import com.lms.service.SubModuleService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -15,6 +17,7 @@ import java.util.List;
 @RequiredArgsConstructor
 public class SubModuleController {
     private final SubModuleService subModuleService;
+    private final LessonPayloadService lessonPayloadService;
 
     @GetMapping("/module/{moduleId}")
     public ResponseEntity<List<SubModuleResponse>> getSubModulesByModule(@PathVariable Long moduleId) {
@@ -22,8 +25,11 @@ public class SubModuleController {
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<SubModuleResponse> getSubModule(@PathVariable Long id) {
-        return ResponseEntity.ok(subModuleService.getSubModuleById(id));
+    public ResponseEntity<byte[]> getSubModule(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
+    ) {
+        return PrecompressedResponses.ok(lessonPayloadService.get(id), acceptEncoding, "lesson");
     }
 
     @PostMapping("/module/{moduleId}")
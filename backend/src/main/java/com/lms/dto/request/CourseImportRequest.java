@@ -0,0 +1,23 @@
+package com.lms.dto.request;
+
+import com.lms.entity.Course.Difficulty;
+import lombok.Data;
+import java.util.List;
+
+@Data
+public class CourseImportRequest {
+    private String title;
+    private String description;
+    private String category;
+    private Difficulty difficulty;
+    private String thumbnailUrl;
+    private Boolean published;
+    private List<ModuleImport> modules;
+
+    @Data
+    public static class ModuleImport {
+        private String title;
+        private Integer orderIndex;
+        private List<SubModuleRequest> subModules;
+    }
+}
@@ -0,0 +1,16 @@
+package com.lms.dto.request;
+
+import com.lms.entity.User.Role;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserImportRequest {
+    private String name;
+    private String email;
+    private String password;
+    private Role role;
+}
@@ -0,0 +1,27 @@
+package com.lms.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+import java.util.List;
+
+@Data
+@Builder
+public class BulkEnrollmentResponse {
+    private Long courseId;
+    private int enrolled;
+    private int alreadyEnrolled;
+    private int notFound;
+    private List<Result> results;
+
+    @Data
+    @Builder
+    public static class Result {
+        private String identifier;
+        private Long userId;
+        private Status status;
+    }
+
+    public enum Status {
+        ENROLLED, ALREADY_ENROLLED, USER_NOT_FOUND
+    }
+}
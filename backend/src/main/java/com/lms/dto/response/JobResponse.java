@@ -0,0 +1,27 @@
+package com.lms.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import lombok.Builder;
+import lombok.Data;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+public class JobResponse {
+    private Long id;
+    private String type;
+    private String status;
+    private int priority;
+    private int attempts;
+    private int maxAttempts;
+    private LocalDateTime runAt;
+    private String lockedBy;
+    private String lastError;
+    private LocalDateTime createdAt;
+    private LocalDateTime finishedAt;
+    // JSON as stored; only filled in for a single job
+    @JsonRawValue
+    private String payload;
+    @JsonRawValue
+    private String result;
+}
@@ -0,0 +1,20 @@
+package com.lms.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+public class LearningSessionResponse {
+    private CourseResponse course;
+    private boolean enrolled;
+    private String enrollmentStatus;
+    private LocalDateTime enrolledAt;
+    private List<Long> completedSubModuleIds;
+    private int completedSubModules;
+    private int totalSubModules;
+    private int progressPercentage;
+    private SubModuleResponse currentLesson;
+}
@@ -0,0 +1,13 @@
+package com.lms.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+import java.util.List;
+
+@Data
+@Builder
+public class ProgressPageResponse {
+    private List<ProgressResponse> items;
+    // Pass back as ?cursor= for the next page; null on the last page
+    private String nextCursor;
+}
@@ -1,11 +1,13 @@
 package com.lms.dto.response;
 
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import java.time.LocalDateTime;
 
 @Data
 @Builder
+@AllArgsConstructor
 public class ProgressResponse {
     private Long id;
     private Long userId;
@@ -15,6 +15,8 @@ public class SubModuleResponse {
     private String bodyContent;
     private String summaryContent;
     private String videoUrl;
+    private Integer mcqQuestionCount;
+    private Integer codingQuestionCount;
     private List<McqQuestionResponse> mcqQuestions;
     private List<CodingQuestionResponse> codingQuestions;
 
@@ -0,0 +1,18 @@
+package com.lms.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+@AllArgsConstructor
+public class SuggestionResponse {
+    private Type type;
+    private String text;
+    private Long courseId;
+
+    public enum Type {
+        COURSE, CATEGORY, MODULE
+    }
+}
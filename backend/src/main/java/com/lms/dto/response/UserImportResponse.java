@@ -0,0 +1,29 @@
+package com.lms.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+import java.util.List;
+
+@Data
+@Builder
+public class UserImportResponse {
+    private int created;
+    private int alreadyExists;
+    private int invalid;
+    private long durationMillis;
+    private List<Result> results;
+
+    @Data
+    @Builder
+    public static class Result {
+        private int row;
+        private String email;
+        private Long userId;
+        private Status status;
+        private String message;
+    }
+
+    public enum Status {
+        CREATED, ALREADY_EXISTS, INVALID
+    }
+}
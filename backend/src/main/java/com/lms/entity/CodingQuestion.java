@@ -2,9 +2,13 @@ package com.lms.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.LazyGroup;
 
 @Entity
 @Table(name = "coding_questions")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -12,7 +16,8 @@ import lombok.*;
 @Builder
 public class CodingQuestion {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "coding_questions_seq")
+    @SequenceGenerator(name = "coding_questions_seq", sequenceName = "coding_questions_seq", allocationSize = 100)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -22,9 +27,14 @@ public class CodingQuestion {
     @Column(nullable = false, columnDefinition = "TEXT")
     private String question;
 
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("code")
     @Column(name = "starter_code", columnDefinition = "TEXT")
     private String starterCode;
 
+    // Never sent to learners, so kept in its own group
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("solution")
     @Column(columnDefinition = "TEXT")
     private String solution;
 
@@ -2,12 +2,16 @@ package com.lms.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.LazyGroup;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
 @Table(name = "sub_modules")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -15,7 +19,8 @@ import java.util.List;
 @Builder
 public class SubModule {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sub_modules_seq")
+    @SequenceGenerator(name = "sub_modules_seq", sequenceName = "sub_modules_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -28,27 +33,39 @@ public class SubModule {
     @JoinColumn(name = "module_id", nullable = false)
     private Module module;
 
+    // Lesson content is loaded (as one group) only when read, so header-only loads stay small
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("content")
     @Column(name = "intro_content", columnDefinition = "TEXT")
     private String introContent;
 
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("content")
     @Column(name = "body_content", columnDefinition = "TEXT")
     private String bodyContent;
 
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("content")
     @Column(name = "summary_content", columnDefinition = "TEXT")
     private String summaryContent;
 
     @Column(name = "video_url")
     private String videoUrl;
 
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @OneToMany(mappedBy = "subModule", cascade = CascadeType.ALL, orphanRemoval = true)
     @OrderBy("orderIndex ASC")
+    @Builder.Default
     private List<McqQuestion> mcqQuestions = new ArrayList<>();
 
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @OneToMany(mappedBy = "subModule", cascade = CascadeType.ALL, orphanRemoval = true)
     @OrderBy("orderIndex ASC")
+    @Builder.Default
     private List<CodingQuestion> codingQuestions = new ArrayList<>();
 
     @OneToMany(mappedBy = "subModule", cascade = CascadeType.ALL)
+    @Builder.Default
     private List<Progress> progressRecords = new ArrayList<>();
 
     @Column(name = "created_at")
@@ -0,0 +1,8 @@
+package com.lms.repository;
+
+/**
+ * A coding question as shown to learners, starter code included and solution left out, so a
+ * lesson's questions come back in one query instead of one lazy load of starter code each.
+ */
+public record CodingQuestionContent(Long id, String question, String starterCode, String hint, Integer orderIndex) {
+}
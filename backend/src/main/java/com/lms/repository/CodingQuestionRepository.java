@@ -2,8 +2,16 @@ package com.lms.repository;
 
 import com.lms.entity.CodingQuestion;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import java.util.List;
 
 public interface CodingQuestionRepository extends JpaRepository<CodingQuestion, Long> {
     List<CodingQuestion> findBySubModuleIdOrderByOrderIndexAsc(Long subModuleId);
+
+    @Query("SELECT new com.lms.repository.CodingQuestionContent(q.id, q.question, q.starterCode, q.hint, q.orderIndex) " +
+            "FROM CodingQuestion q WHERE q.subModule.id = :subModuleId ORDER BY q.orderIndex")
+    List<CodingQuestionContent> findContentBySubModuleId(Long subModuleId);
+
+    @Query("SELECT q.subModule.id, COUNT(q) FROM CodingQuestion q WHERE q.subModule.module.course.id = :courseId GROUP BY q.subModule.id")
+    List<Object[]> countBySubModuleForCourse(Long courseId);
 }
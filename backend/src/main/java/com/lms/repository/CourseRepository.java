@@ -3,13 +3,37 @@ package com.lms.repository;
 import com.lms.entity.Course;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import java.util.List;
+import java.util.Optional;
 
 public interface CourseRepository extends JpaRepository<Course, Long> {
+    String SUMMARY_PROJECTION = "SELECT new com.lms.repository.CourseSummary(" +
+            "c.id, c.title, c.description, c.category, c.difficulty, c.thumbnailUrl, c.published, u.id, u.name, c.createdAt, " +
+            "(SELECT COUNT(m) FROM Module m WHERE m.course = c), " +
+            "(SELECT COUNT(sm) FROM SubModule sm WHERE sm.module.course = c)) " +
+            "FROM Course c LEFT JOIN c.createdBy u ";
+
     List<Course> findByPublishedTrue();
     List<Course> findByCreatedById(Long userId);
     List<Course> findByCategory(String category);
+
+    @Query(SUMMARY_PROJECTION + "WHERE c.published = true")
+    List<CourseSummary> findPublishedSummaries();
+
+    @Query(SUMMARY_PROJECTION)
+    List<CourseSummary> findAllSummaries();
+
+    @Query(SUMMARY_PROJECTION + "WHERE u.id = :userId")
+    List<CourseSummary> findSummariesByCreatedById(Long userId);
+
+    // Author and modules in one query; the lessons are read separately (SubModuleRepository.findByCourseId)
+    @Query("SELECT c FROM Course c LEFT JOIN FETCH c.createdBy LEFT JOIN FETCH c.modules WHERE c.id = :id")
+    Optional<Course> findWithModulesById(Long id);
     
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT DISTINCT c.category FROM Course c WHERE c.category IS NOT NULL")
     List<String> findAllCategories();
 }
@@ -0,0 +1,15 @@
+package com.lms.repository;
+
+import com.lms.entity.Course;
+
+import java.time.LocalDateTime;
+
+/**
+ * A course as shown in catalog and admin listings: the course columns, its author and its
+ * module and lesson counts, read in one query instead of loading the author and modules per course.
+ */
+public record CourseSummary(Long id, String title, String description, String category,
+                            Course.Difficulty difficulty, String thumbnailUrl, Boolean published,
+                            Long createdById, String createdByName, LocalDateTime createdAt,
+                            Long moduleCount, Long totalSubModules) {
+}
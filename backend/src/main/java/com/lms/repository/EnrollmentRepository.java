@@ -2,12 +2,25 @@ package com.lms.repository;
 
 import com.lms.entity.Enrollment;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import java.util.List;
 import java.util.Optional;
 
 public interface EnrollmentRepository extends JpaRepository<Enrollment, Long> {
+    String SUMMARY_PROJECTION = "SELECT new com.lms.repository.EnrollmentSummary(" +
+            "e.id, e.user.id, c.id, c.title, e.status, e.enrolledAt) FROM Enrollment e JOIN e.course c ";
+
     List<Enrollment> findByUserId(Long userId);
     List<Enrollment> findByCourseId(Long courseId);
     Optional<Enrollment> findByUserIdAndCourseId(Long userId, Long courseId);
     boolean existsByUserIdAndCourseId(Long userId, Long courseId);
+
+    @Query("SELECT e.course.id FROM Enrollment e WHERE e.user.id = :userId")
+    List<Long> findCourseIdsByUserId(Long userId);
+
+    @Query(SUMMARY_PROJECTION + "WHERE e.user.id = :userId")
+    List<EnrollmentSummary> findSummariesByUserId(Long userId);
+
+    @Query(SUMMARY_PROJECTION + "WHERE e.user.id = :userId AND c.id = :courseId")
+    Optional<EnrollmentSummary> findSummaryByUserIdAndCourseId(Long userId, Long courseId);
 }
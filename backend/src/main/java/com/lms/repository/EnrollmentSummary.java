@@ -0,0 +1,12 @@
+package com.lms.repository;
+
+import com.lms.entity.Enrollment;
+
+import java.time.LocalDateTime;
+
+/**
+ * An enrollment with the title of its course, read without loading the Enrollment, User or Course entities.
+ */
+public record EnrollmentSummary(Long id, Long userId, Long courseId, String courseTitle,
+                                Enrollment.Status status, LocalDateTime enrolledAt) {
+}
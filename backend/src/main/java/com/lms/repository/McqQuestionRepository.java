@@ -2,8 +2,12 @@ package com.lms.repository;
 
 import com.lms.entity.McqQuestion;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import java.util.List;
 
 public interface McqQuestionRepository extends JpaRepository<McqQuestion, Long> {
     List<McqQuestion> findBySubModuleIdOrderByOrderIndexAsc(Long subModuleId);
+
+    @Query("SELECT q.subModule.id, COUNT(q) FROM McqQuestion q WHERE q.subModule.module.course.id = :courseId GROUP BY q.subModule.id")
+    List<Object[]> countBySubModuleForCourse(Long courseId);
 }
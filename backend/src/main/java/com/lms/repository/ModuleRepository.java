@@ -2,9 +2,13 @@ package com.lms.repository;
 
 import com.lms.entity.Module;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import java.util.List;
 
 public interface ModuleRepository extends JpaRepository<Module, Long> {
     List<Module> findByCourseIdOrderByOrderIndexAsc(Long courseId);
     int countByCourseId(Long courseId);
+
+    @Query("SELECT m.course.id, m.title FROM Module m WHERE m.course.published = true")
+    List<Object[]> findTitlesOfPublishedCourses();
 }
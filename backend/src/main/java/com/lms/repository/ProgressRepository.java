@@ -1,12 +1,21 @@
 package com.lms.repository;
 
+import com.lms.dto.response.ProgressResponse;
 import com.lms.entity.Progress;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 public interface ProgressRepository extends JpaRepository<Progress, Long> {
+    // Projections straight into the response DTO: no Progress, User or SubModule entities are loaded
+    String RESPONSE_PROJECTION = "SELECT new com.lms.dto.response.ProgressResponse(" +
+            "p.id, p.user.id, sm.id, sm.title, p.completed, p.completedAt) FROM Progress p JOIN p.subModule sm ";
+    // Newest first; rows without completedAt (marked incomplete) come last
+    String KEYSET_ORDER = " ORDER BY p.completedAt DESC NULLS LAST, p.id DESC";
+
     List<Progress> findByUserId(Long userId);
     Optional<Progress> findByUserIdAndSubModuleId(Long userId, Long subModuleId);
     
@@ -15,4 +24,26 @@ public interface ProgressRepository extends JpaRepository<Progress, Long> {
     
     @Query("SELECT COUNT(p) FROM Progress p WHERE p.user.id = :userId AND p.subModule.module.course.id = :courseId AND p.completed = true")
     int countCompletedByUserIdAndCourseId(Long userId, Long courseId);
+
+    @Query("SELECT p.subModule.id FROM Progress p WHERE p.user.id = :userId AND p.subModule.module.course.id = :courseId AND p.completed = true")
+    List<Long> findCompletedSubModuleIds(Long userId, Long courseId);
+
+    @Query(RESPONSE_PROJECTION + "WHERE p.user.id = :userId AND sm.id = :subModuleId")
+    Optional<ProgressResponse> findResponseByUserIdAndSubModuleId(Long userId, Long subModuleId);
+
+    @Query(RESPONSE_PROJECTION + "WHERE p.user.id = :userId AND sm.module.course.id = :courseId")
+    List<ProgressResponse> findResponsesByUserIdAndCourseId(Long userId, Long courseId);
+
+    @Query(RESPONSE_PROJECTION + "WHERE p.user.id = :userId" + KEYSET_ORDER)
+    List<ProgressResponse> findResponsesByUserId(Long userId, Limit limit);
+
+    // Row-value comparison so the index range starts right after the cursor; it never matches a NULL completedAt
+    @Query(RESPONSE_PROJECTION + "WHERE p.user.id = :userId AND (p.completedAt, p.id) < (:completedAt, :id)" + KEYSET_ORDER)
+    List<ProgressResponse> findResponsesByUserIdAfter(Long userId, LocalDateTime completedAt, Long id, Limit limit);
+
+    @Query(RESPONSE_PROJECTION + "WHERE p.user.id = :userId AND p.completedAt IS NULL" + KEYSET_ORDER)
+    List<ProgressResponse> findIncompleteResponsesByUserId(Long userId, Limit limit);
+
+    @Query(RESPONSE_PROJECTION + "WHERE p.user.id = :userId AND p.completedAt IS NULL AND p.id < :id" + KEYSET_ORDER)
+    List<ProgressResponse> findResponsesByUserIdAfterIncomplete(Long userId, Long id, Limit limit);
 }
@@ -0,0 +1,46 @@
+package com.lms.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Hands out primary keys for rows written through plain JDBC, so parent ids are
+ * known up front and whole trees can go out as batched inserts.
+ *
+ * Uses the same pooled-lo sequences as the entities: each nextval value v reserves
+ * the block [v, v + increment), so ids never collide with ones Hibernate hands out.
+ */
+@Repository
+public class SequenceIdAllocator {
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<String, Integer> increments = new ConcurrentHashMap<>();
+
+    public SequenceIdAllocator(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public long[] allocate(String table, int count) {
+        if (count == 0) {
+            return new long[0];
+        }
+        String sequence = table + "_seq";
+        int increment = increments.computeIfAbsent(sequence, name -> jdbcTemplate.queryForObject(
+                "SELECT increment_by FROM pg_sequences WHERE sequencename = ?", Integer.class, name));
+        int blocks = (count + increment - 1) / increment;
+        List<Long> starts = jdbcTemplate.queryForList(
+                "SELECT nextval(?) FROM generate_series(1, ?)", Long.class, sequence, blocks);
+
+        long[] ids = new long[count];
+        int i = 0;
+        for (Long start : starts) {
+            for (int offset = 0; offset < increment && i < count; offset++) {
+                ids[i++] = start + offset;
+            }
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,8 @@
+package com.lms.repository;
+
+/**
+ * The lazily loaded TEXT columns of a submodule, for listings that return lesson content
+ * for many submodules at once (one query instead of one lazy load per submodule).
+ */
+public record SubModuleContent(Long id, String introContent, String bodyContent, String summaryContent) {
+}
@@ -0,0 +1,9 @@
+package com.lms.repository;
+
+/**
+ * A submodule's header and lazily loaded TEXT columns read in one query, for the lesson
+ * detail view (instead of loading the entity and then its content group).
+ */
+public record SubModuleDetail(Long id, String title, Integer orderIndex, Long moduleId,
+                              String introContent, String bodyContent, String summaryContent, String videoUrl) {
+}
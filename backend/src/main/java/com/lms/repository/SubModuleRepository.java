@@ -4,6 +4,7 @@ import com.lms.entity.SubModule;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import java.util.List;
+import java.util.Optional;
 
 public interface SubModuleRepository extends JpaRepository<SubModule, Long> {
     List<SubModule> findByModuleIdOrderByOrderIndexAsc(Long moduleId);
@@ -14,4 +15,19 @@ public interface SubModuleRepository extends JpaRepository<SubModule, Long> {
     
     @Query("SELECT COUNT(sm) FROM SubModule sm WHERE sm.module.course.id = :courseId")
     int countByCourseId(Long courseId);
+
+    @Query("SELECT sm.id FROM SubModule sm WHERE sm.module.course.id = :courseId ORDER BY sm.module.orderIndex, sm.orderIndex")
+    List<Long> findIdsByCourseId(Long courseId);
+
+    @Query("SELECT new com.lms.repository.SubModuleContent(sm.id, sm.introContent, sm.bodyContent, sm.summaryContent) " +
+            "FROM SubModule sm WHERE sm.module.id = :moduleId")
+    List<SubModuleContent> findContentByModuleId(Long moduleId);
+
+    @Query("SELECT new com.lms.repository.SubModuleContent(sm.id, sm.introContent, sm.bodyContent, sm.summaryContent) " +
+            "FROM SubModule sm WHERE sm.module.course.id = :courseId")
+    List<SubModuleContent> findContentByCourseId(Long courseId);
+
+    @Query("SELECT new com.lms.repository.SubModuleDetail(sm.id, sm.title, sm.orderIndex, sm.module.id, " +
+            "sm.introContent, sm.bodyContent, sm.summaryContent, sm.videoUrl) FROM SubModule sm WHERE sm.id = :id")
+    Optional<SubModuleDetail> findDetailById(Long id);
 }
@@ -0,0 +1,34 @@
+package com.lms.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lms.dto.request.BulkEnrollmentRequest;
+import com.lms.dto.response.JobResponse;
+import org.springframework.stereotype.Service;
+
+/**
+ * Bulk enrollment on the {@link JobQueue}, for cohorts too large to enroll within a request.
+ * The job's result is the usual {@link com.lms.dto.response.BulkEnrollmentResponse}; running it
+ * again after a partial failure is safe, as learners already enrolled are only reported.
+ */
+@Service
+public class BulkEnrollmentJob {
+    private static final String TYPE = "bulk-enrollment";
+
+    private final JobQueue jobQueue;
+
+    public BulkEnrollmentJob(JobQueue jobQueue, EnrollmentService enrollmentService, ObjectMapper objectMapper) {
+        this.jobQueue = jobQueue;
+
+        jobQueue.register(TYPE, payload -> {
+            Payload job = objectMapper.treeToValue(payload, Payload.class);
+            return enrollmentService.bulkEnroll(job.courseId(), job.request());
+        });
+    }
+
+    public JobResponse submit(Long courseId, BulkEnrollmentRequest request) {
+        return jobQueue.getJob(jobQueue.enqueue(TYPE, new Payload(courseId, request)));
+    }
+
+    record Payload(Long courseId, BulkEnrollmentRequest request) {
+    }
+}
@@ -0,0 +1,120 @@
+package com.lms.service;
+
+import com.lms.entity.CodingQuestion;
+import com.lms.entity.Course;
+import com.lms.entity.McqQuestion;
+import com.lms.entity.Module;
+import com.lms.entity.SubModule;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+import static com.lms.config.ReplicaRoutingDataSource.usePrimary;
+
+/**
+ * Keeps the course tree caches of every node in step with admin edits made on another node.
+ * Local {@link CourseChangedEvent}s and {@link LessonsChangedEvent}s are forwarded over the
+ * {@link InvalidationBus}; on the receiving nodes the affected second-level cache entries are
+ * evicted first and the event is then replayed, so the snapshot, suggestion, lesson payload and
+ * completion listeners refresh from the database exactly as they do on the node that made the change.
+ */
+@Service
+public class ClusterCacheInvalidator {
+    private static final String COURSE_TOPIC = "course";
+    private static final String LESSONS_UPDATED_TOPIC = "lessons-updated";
+    private static final String LESSONS_DELETED_TOPIC = "lessons-deleted";
+
+    private final InvalidationBus invalidationBus;
+    private final EntityManagerFactory entityManagerFactory;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CourseSuggestionService courseSuggestionService;
+    private final CourseSnapshotService courseSnapshotService;
+    private final LessonPayloadService lessonPayloadService;
+    // Set while a remote change is replayed, so it isn't forwarded back to the cluster
+    private final ThreadLocal<Boolean> replaying = ThreadLocal.withInitial(() -> false);
+
+    public ClusterCacheInvalidator(InvalidationBus invalidationBus,
+                                   EntityManagerFactory entityManagerFactory,
+                                   ApplicationEventPublisher eventPublisher,
+                                   CourseSuggestionService courseSuggestionService,
+                                   CourseSnapshotService courseSnapshotService,
+                                   LessonPayloadService lessonPayloadService) {
+        this.invalidationBus = invalidationBus;
+        this.entityManagerFactory = entityManagerFactory;
+        this.eventPublisher = eventPublisher;
+        this.courseSuggestionService = courseSuggestionService;
+        this.courseSnapshotService = courseSnapshotService;
+        this.lessonPayloadService = lessonPayloadService;
+
+        // Notifications arrive as soon as the primary commits, possibly before the replicas have the change
+        invalidationBus.subscribe(COURSE_TOPIC, ids -> usePrimary(() -> ids.forEach(this::courseChangedElsewhere)));
+        invalidationBus.subscribe(LESSONS_UPDATED_TOPIC, ids -> usePrimary(() -> lessonsChangedElsewhere(ids, false)));
+        invalidationBus.subscribe(LESSONS_DELETED_TOPIC, ids -> usePrimary(() -> lessonsChangedElsewhere(ids, true)));
+        invalidationBus.onResync(() -> usePrimary(this::resync));
+    }
+
+    @EventListener
+    public void onCourseChanged(CourseChangedEvent event) {
+        if (!replaying.get()) {
+            invalidationBus.publish(COURSE_TOPIC, List.of(event.courseId()));
+        }
+    }
+
+    @EventListener
+    public void onLessonsChanged(LessonsChangedEvent event) {
+        if (!replaying.get()) {
+            invalidationBus.publish(event.deleted() ? LESSONS_DELETED_TOPIC : LESSONS_UPDATED_TOPIC, event.subModuleIds());
+        }
+    }
+
+    private void courseChangedElsewhere(Long courseId) {
+        Cache cache = secondLevelCache();
+        cache.evictEntityData(Course.class, courseId);
+        cache.evictCollectionData(Course.class.getName() + ".modules", courseId);
+        // The message only names the course, and module rows are small: drop the module regions wholesale
+        cache.evictEntityData(Module.class);
+        cache.evictCollectionData(Module.class.getName() + ".subModules");
+        cache.evictQueryRegions();
+        replay(new CourseChangedEvent(courseId));
+    }
+
+    private void lessonsChangedElsewhere(List<Long> subModuleIds, boolean deleted) {
+        Cache cache = secondLevelCache();
+        for (Long id : subModuleIds) {
+            cache.evictEntityData(SubModule.class, id);
+            cache.evictCollectionData(SubModule.class.getName() + ".mcqQuestions", id);
+            cache.evictCollectionData(SubModule.class.getName() + ".codingQuestions", id);
+        }
+        cache.evictEntityData(McqQuestion.class);
+        cache.evictEntityData(CodingQuestion.class);
+        replay(new LessonsChangedEvent(subModuleIds, deleted));
+    }
+
+    /**
+     * After missing notifications nothing cached about the course tree can be trusted.
+     */
+    private void resync() {
+        secondLevelCache().evictAll();
+        lessonPayloadService.evictAll();
+        courseSuggestionService.rebuild();
+        courseSnapshotService.rebuildAll();
+    }
+
+    private void replay(Object event) {
+        replaying.set(true);
+        try {
+            eventPublisher.publishEvent(event);
+        } finally {
+            replaying.set(false);
+        }
+    }
+
+    private Cache secondLevelCache() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getCache();
+    }
+}
@@ -0,0 +1,248 @@
+package com.lms.service;
+
+import com.lms.repository.ProgressRepository;
+import com.lms.repository.SubModuleRepository;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.lms.config.ReplicaRoutingDataSource.usePrimary;
+
+/**
+ * Per-learner course completion as a roaring bitmap of completed submodule ids, one row per
+ * (user, course) in completion_bitmaps. The row is updated under a row lock in the same
+ * transaction as the progress write and cached in memory ("completion-bitmaps"), so progress
+ * percentage, the completion check and the next unfinished lesson are bit operations against
+ * the course's lesson list instead of COUNT queries over progress.
+ *
+ * Bits are keyed by submodule id rather than position, so reordering or inserting lessons
+ * doesn't invalidate stored bitmaps; deleted lessons drop out when intersected with the
+ * current lesson list. Other nodes are told about every write over the {@link InvalidationBus}
+ * and reload the row, so their cached bitmap can only move forward.
+ */
+@Service
+public class CompletionService {
+    private static final String TOPIC = "completions";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ProgressRepository progressRepository;
+    private final SubModuleRepository subModuleRepository;
+    private final InvalidationBus invalidationBus;
+    private final Cache<String, Completion> completions;
+    private final Map<Long, CourseLessons> lessonsByCourse = new ConcurrentHashMap<>();
+
+    public CompletionService(JdbcTemplate jdbcTemplate,
+                             ProgressRepository progressRepository,
+                             SubModuleRepository subModuleRepository,
+                             InvalidationBus invalidationBus,
+                             CacheManager cacheManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.progressRepository = progressRepository;
+        this.subModuleRepository = subModuleRepository;
+        this.invalidationBus = invalidationBus;
+        this.completions = cacheManager.getCache("completion-bitmaps", String.class, Completion.class);
+
+        // Message ids are (userId, courseId)
+        invalidationBus.subscribe(TOPIC, ids -> reload(ids.get(0), ids.get(1)));
+        invalidationBus.onResync(() -> {
+            completions.clear();
+            lessonsByCourse.clear();
+        });
+    }
+
+    /**
+     * Lesson ids of the course in outline order (module order, then lesson order).
+     */
+    public CourseLessons lessons(Long courseId) {
+        // A concurrent eviction waits for an in-flight load, so a stale list can't be left behind
+        return lessonsByCourse.computeIfAbsent(courseId,
+                id -> usePrimary(() -> CourseLessons.of(subModuleRepository.findIdsByCourseId(id))));
+    }
+
+    public int completedCount(Long userId, Long courseId) {
+        return RoaringBitmap.andCardinality(completed(userId, courseId), lessons(courseId).ids());
+    }
+
+    public boolean isCompleted(Long userId, Long courseId, Long subModuleId) {
+        return completed(userId, courseId).contains(Math.toIntExact(subModuleId));
+    }
+
+    /**
+     * Completed lessons of the course, in outline order.
+     */
+    public List<Long> completedLessons(Long userId, Long courseId) {
+        RoaringBitmap completed = completed(userId, courseId);
+        List<Long> result = new ArrayList<>();
+        for (long id : lessons(courseId).orderedIds()) {
+            if (completed.contains((int) id)) {
+                result.add(id);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * First lesson in outline order the learner hasn't completed, or null when all are done.
+     */
+    public Long nextUnfinished(Long userId, Long courseId) {
+        RoaringBitmap completed = completed(userId, courseId);
+        for (long id : lessons(courseId).orderedIds()) {
+            if (!completed.contains((int) id)) {
+                return id;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Sets or clears the lesson's bit. Must run inside the transaction that writes the progress row.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(Long userId, Long courseId, Long subModuleId, boolean completed) {
+        Completion current = selectForUpdate(userId, courseId);
+        if (current == null) {
+            // First write for this learner and course: start from the existing progress rows
+            jdbcTemplate.update("INSERT INTO completion_bitmaps (user_id, course_id, version, bitmap, updated_at) " +
+                            "VALUES (?, ?, 0, ?, ?) ON CONFLICT (user_id, course_id) DO NOTHING",
+                    userId, courseId, serialize(fromProgress(userId, courseId)), Timestamp.valueOf(LocalDateTime.now()));
+            current = selectForUpdate(userId, courseId);
+        }
+
+        RoaringBitmap bitmap = current.completed().clone();
+        if (completed) {
+            bitmap.add(Math.toIntExact(subModuleId));
+        } else {
+            bitmap.remove(Math.toIntExact(subModuleId));
+        }
+        bitmap.runOptimize();
+        Completion updated = new Completion(current.version() + 1, bitmap);
+        jdbcTemplate.update("UPDATE completion_bitmaps SET version = ?, bitmap = ?, updated_at = ? " +
+                        "WHERE user_id = ? AND course_id = ?",
+                updated.version(), serialize(bitmap), Timestamp.valueOf(LocalDateTime.now()), userId, courseId);
+
+        invalidationBus.publish(TOPIC, List.of(userId, courseId));
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                cache(key(userId, courseId), updated);
+            }
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCourseChanged(CourseChangedEvent event) {
+        lessonsByCourse.remove(event.courseId());
+    }
+
+    /**
+     * The learner's completed lessons; the returned bitmap is shared and must not be modified.
+     */
+    private RoaringBitmap completed(Long userId, Long courseId) {
+        Completion completion = completions.get(key(userId, courseId));
+        if (completion == null) {
+            completion = reload(userId, courseId);
+        }
+        return completion.completed();
+    }
+
+    private Completion reload(Long userId, Long courseId) {
+        // Also called right after another node's commit, which a replica may not have replayed yet
+        return usePrimary(() -> cache(key(userId, courseId), read(userId, courseId)));
+    }
+
+    private Completion read(Long userId, Long courseId) {
+        List<Completion> rows = jdbcTemplate.query(
+                "SELECT version, bitmap FROM completion_bitmaps WHERE user_id = ? AND course_id = ?",
+                (rs, i) -> new Completion(rs.getLong(1), deserialize(rs.getBytes(2))), userId, courseId);
+        // No row yet (nothing recorded since bitmaps were introduced): derive it, the first write persists it
+        return rows.isEmpty() ? new Completion(-1, fromProgress(userId, courseId)) : rows.get(0);
+    }
+
+    /**
+     * Keeps whichever of the cached and the given completion is newer, and returns it.
+     */
+    private Completion cache(String key, Completion candidate) {
+        return completions.invoke(key, (entry, args) -> {
+            if (!entry.exists() || entry.getValue().version() < candidate.version()) {
+                entry.setValue(candidate);
+            }
+            return entry.getValue();
+        });
+    }
+
+    private Completion selectForUpdate(Long userId, Long courseId) {
+        List<Completion> rows = jdbcTemplate.query(
+                "SELECT version, bitmap FROM completion_bitmaps WHERE user_id = ? AND course_id = ? FOR UPDATE",
+                (rs, i) -> new Completion(rs.getLong(1), deserialize(rs.getBytes(2))), userId, courseId);
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    private RoaringBitmap fromProgress(Long userId, Long courseId) {
+        RoaringBitmap bitmap = new RoaringBitmap();
+        for (Long id : progressRepository.findCompletedSubModuleIds(userId, courseId)) {
+            bitmap.add(Math.toIntExact(id));
+        }
+        bitmap.runOptimize();
+        return bitmap;
+    }
+
+    private static String key(Long userId, Long courseId) {
+        return userId + ":" + courseId;
+    }
+
+    private static byte[] serialize(RoaringBitmap bitmap) {
+        ByteBuffer buffer = ByteBuffer.allocate(bitmap.serializedSizeInBytes());
+        bitmap.serialize(buffer);
+        return buffer.array();
+    }
+
+    private static RoaringBitmap deserialize(byte[] bytes) {
+        RoaringBitmap bitmap = new RoaringBitmap();
+        try {
+            bitmap.deserialize(ByteBuffer.wrap(bytes));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bitmap;
+    }
+
+    /**
+     * @param version incremented on every write, so an older load can't overwrite a newer cache entry
+     */
+    public record Completion(long version, RoaringBitmap completed) {
+    }
+
+    public record CourseLessons(long[] orderedIds, RoaringBitmap ids) {
+
+        static CourseLessons of(List<Long> orderedIds) {
+            long[] ordered = orderedIds.stream().mapToLong(Long::longValue).toArray();
+            RoaringBitmap ids = new RoaringBitmap();
+            for (long id : ordered) {
+                ids.add(Math.toIntExact(id));
+            }
+            ids.runOptimize();
+            return new CourseLessons(ordered, ids);
+        }
+
+        public int count() {
+            return orderedIds.length;
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.lms.service;
+
+/**
+ * Published whenever a course or anything in its tree (modules, submodules, questions)
+ * is created, changed or deleted. Listeners that derive data from the course tree use it
+ * to refresh their copy once the change has committed.
+ */
+public record CourseChangedEvent(Long courseId) {
+}
@@ -4,54 +4,122 @@ import com.lms.dto.request.CourseRequest;
 import com.lms.dto.response.CourseResponse;
 import com.lms.dto.response.ModuleResponse;
 import com.lms.dto.response.SubModuleResponse;
+import com.lms.dto.response.SuggestionResponse;
 import com.lms.entity.Course;
+import com.lms.entity.SubModule;
 import com.lms.entity.User;
 import com.lms.exception.ResourceNotFoundException;
+import com.lms.repository.CodingQuestionRepository;
 import com.lms.repository.CourseRepository;
+import com.lms.repository.CourseSummary;
+import com.lms.repository.McqQuestionRepository;
 import com.lms.repository.SubModuleRepository;
 import com.lms.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
+import static com.lms.config.ReplicaRoutingDataSource.usePrimary;
+
 @Service
 @RequiredArgsConstructor
 public class CourseService {
+    private static final Duration COURSE_FRESH_FOR = Duration.ofSeconds(30);
+    private static final Duration COURSE_STALE_FOR = Duration.ofMinutes(5);
+    private static final Duration COURSE_WAIT_TIMEOUT = Duration.ofSeconds(3);
+
     private final CourseRepository courseRepository;
     private final UserRepository userRepository;
     private final SubModuleRepository subModuleRepository;
+    private final CourseSuggestionService courseSuggestionService;
+    private final McqQuestionRepository mcqQuestionRepository;
+    private final CodingQuestionRepository codingQuestionRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EnrollmentMembershipService enrollmentMembershipService;
+    private final PlatformTransactionManager transactionManager;
 
+    // A popular course going cold must not send every learner into the same graph walk
+    private final SingleFlightLoader<Long, CourseResponse> courseTrees =
+            new SingleFlightLoader<>("course", COURSE_FRESH_FOR, COURSE_STALE_FOR, COURSE_WAIT_TIMEOUT);
+
+    @Transactional(readOnly = true)
     public List<CourseResponse> getAllPublishedCourses() {
-        return courseRepository.findByPublishedTrue().stream()
+        return courseRepository.findPublishedSummaries().stream()
                 .map(this::mapToResponse)
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public List<CourseResponse> getAllCourses() {
-        return courseRepository.findAll().stream()
+        return courseRepository.findAllSummaries().stream()
                 .map(this::mapToResponse)
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public List<CourseResponse> getCoursesByUser(Long userId) {
-        return courseRepository.findByCreatedById(userId).stream()
+        return courseRepository.findSummariesByCreatedById(userId).stream()
                 .map(this::mapToResponse)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * The course tree, shared between concurrent callers and cached until the course changes
+     * (see {@link SingleFlightLoader}); the response must not be modified.
+     */
     public CourseResponse getCourseById(Long id) {
-        Course course = courseRepository.findById(id)
+        return courseTrees.get(id, this::loadInReadOnlyTransaction);
+    }
+
+    /**
+     * Always reads the course tree from the database (or the second-level cache).
+     */
+    @Transactional(readOnly = true)
+    public CourseResponse loadCourseById(Long id) {
+        Course course = courseRepository.findWithModulesById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Course not found"));
-        return mapToDetailedResponse(course);
+        return mapToDetailedResponse(course, subModuleRepository.findByCourseId(id));
     }
 
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCourseChanged(CourseChangedEvent event) {
+        courseTrees.invalidate(event.courseId());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        courseTrees.close();
+    }
+
+    private CourseResponse loadInReadOnlyTransaction(Long id) {
+        // The result is shared with every caller, so read the primary rather than a replica that may lag behind.
+        // A caller's transaction is joined rather than suspended, so a load never holds a second connection;
+        // such callers should load the course before opening their transaction to get the primary.
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        return usePrimary(() -> transaction.execute(status -> loadCourseById(id)));
+    }
+
+    @Transactional(readOnly = true)
     public List<String> getAllCategories() {
         return courseRepository.findAllCategories();
     }
 
+    public List<SuggestionResponse> suggest(String query, int limit) {
+        return courseSuggestionService.suggest(query, limit);
+    }
+
     @Transactional
     public CourseResponse createCourse(CourseRequest request, Long userId) {
         User user = userRepository.findById(userId)
@@ -68,6 +136,7 @@ public class CourseService {
                 .build();
 
         course = courseRepository.save(course);
+        eventPublisher.publishEvent(new CourseChangedEvent(course.getId()));
         return mapToResponse(course);
     }
 
@@ -86,6 +155,7 @@ public class CourseService {
         }
 
         course = courseRepository.save(course);
+        eventPublisher.publishEvent(new CourseChangedEvent(course.getId()));
         return mapToResponse(course);
     }
 
@@ -95,15 +165,25 @@ public class CourseService {
                 .orElseThrow(() -> new ResourceNotFoundException("Course not found"));
         course.setPublished(published);
         course = courseRepository.save(course);
+        eventPublisher.publishEvent(new CourseChangedEvent(course.getId()));
         return mapToResponse(course);
     }
 
     @Transactional
     public void deleteCourse(Long id) {
-        if (!courseRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Course not found");
-        }
-        courseRepository.deleteById(id);
+        Course course = courseRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Course not found"));
+        List<Long> subModuleIds = course.getModules().stream()
+                .flatMap(module -> module.getSubModules().stream())
+                .map(SubModule::getId)
+                .toList();
+        List<Long> enrolledUserIds = course.getEnrollments().stream()
+                .map(enrollment -> enrollment.getUser().getId())
+                .toList();
+        courseRepository.delete(course);
+        enrollmentMembershipService.recordAfterCommit(enrolledUserIds, id, false);
+        eventPublisher.publishEvent(new CourseChangedEvent(id));
+        eventPublisher.publishEvent(LessonsChangedEvent.deleted(subModuleIds));
     }
 
     private CourseResponse mapToResponse(Course course) {
@@ -125,13 +205,37 @@ public class CourseService {
                 .build();
     }
 
-    private CourseResponse mapToDetailedResponse(Course course) {
-        int totalSubModules = subModuleRepository.countByCourseId(course.getId());
+    private CourseResponse mapToResponse(CourseSummary course) {
+        return CourseResponse.builder()
+                .id(course.id())
+                .title(course.title())
+                .description(course.description())
+                .category(course.category())
+                .difficulty(course.difficulty())
+                .thumbnailUrl(course.thumbnailUrl())
+                .published(course.published())
+                .createdByName(course.createdByName())
+                .createdById(course.createdById())
+                .moduleCount(course.moduleCount().intValue())
+                .totalSubModules(course.totalSubModules().intValue())
+                .createdAt(course.createdAt())
+                .build();
+    }
+
+    /**
+     * @param courseSubModules the course's lessons in outline order; their module is only read by id
+     */
+    private CourseResponse mapToDetailedResponse(Course course, List<SubModule> courseSubModules) {
+        int totalSubModules = courseSubModules.size();
         java.util.List<com.lms.entity.Module> courseModules = course.getModules() != null ? course.getModules() : java.util.Collections.emptyList();
+        Map<Long, List<SubModule>> subModulesByModule = courseSubModules.stream()
+                .collect(Collectors.groupingBy(sm -> sm.getModule().getId()));
+        Map<Long, Integer> mcqCounts = countsBySubModule(mcqQuestionRepository.countBySubModuleForCourse(course.getId()));
+        Map<Long, Integer> codingCounts = countsBySubModule(codingQuestionRepository.countBySubModuleForCourse(course.getId()));
         
         List<ModuleResponse> modules = courseModules.stream()
                 .map(module -> {
-                    java.util.List<com.lms.entity.SubModule> subs = module.getSubModules() != null ? module.getSubModules() : java.util.Collections.emptyList();
+                    java.util.List<com.lms.entity.SubModule> subs = subModulesByModule.getOrDefault(module.getId(), java.util.Collections.emptyList());
                     return ModuleResponse.builder()
                         .id(module.getId())
                         .title(module.getTitle())
@@ -144,6 +248,8 @@ public class CourseService {
                                         .title(sm.getTitle())
                                         .orderIndex(sm.getOrderIndex())
                                         .moduleId(module.getId())
+                                        .mcqQuestionCount(mcqCounts.getOrDefault(sm.getId(), 0))
+                                        .codingQuestionCount(codingCounts.getOrDefault(sm.getId(), 0))
                                         .build())
                                 .collect(Collectors.toList()))
                         .build();
@@ -166,4 +272,12 @@ public class CourseService {
                 .modules(modules)
                 .build();
     }
+
+    private Map<Long, Integer> countsBySubModule(List<Object[]> rows) {
+        Map<Long, Integer> counts = new HashMap<>();
+        for (Object[] row : rows) {
+            counts.put((Long) row[0], ((Long) row[1]).intValue());
+        }
+        return counts;
+    }
 }
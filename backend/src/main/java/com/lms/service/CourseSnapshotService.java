@@ -0,0 +1,103 @@
+package com.lms.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lms.entity.Course;
+import com.lms.repository.CourseRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.lms.config.ReplicaRoutingDataSource.usePrimary;
+
+/**
+ * Pre-serialised JSON documents of published course trees, so the course page is served
+ * as a byte copy instead of loading and mapping the tree on every request. Snapshots are
+ * immutable; a {@link CourseChangedEvent} replaces the course's snapshot with a new version
+ * after the writing transaction commits. Unpublished courses have no snapshot.
+ */
+@Service
+public class CourseSnapshotService {
+    private static final Logger log = LoggerFactory.getLogger(CourseSnapshotService.class);
+
+    private final CourseRepository courseRepository;
+    private final CourseService courseService;
+    private final ObjectMapper objectMapper;
+
+    // Unpublished or deleted courses are kept as tombstones, so a slower, older rebuild can't resurrect them
+    private final Map<Long, Snapshot> snapshots = new ConcurrentHashMap<>();
+    private final AtomicLong versions = new AtomicLong();
+
+    public CourseSnapshotService(CourseRepository courseRepository,
+                                 CourseService courseService,
+                                 ObjectMapper objectMapper) {
+        this.courseRepository = courseRepository;
+        this.courseService = courseService;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Returns the current snapshot, or null if the course is not published (or unknown).
+     */
+    public Snapshot get(Long courseId) {
+        Snapshot snapshot = snapshots.get(courseId);
+        return snapshot != null && snapshot.payload() != null ? snapshot : null;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuildAll() {
+        usePrimary(() -> {
+            List<Course> courses = courseRepository.findByPublishedTrue();
+            Set<Long> stale = new HashSet<>(snapshots.keySet());
+            long bytes = 0;
+            for (Course course : courses) {
+                stale.remove(course.getId());
+                bytes += refresh(course.getId());
+            }
+            // Known courses that are no longer published, when rebuilding after missed changes
+            for (Long courseId : stale) {
+                refresh(courseId);
+            }
+            log.info("Course snapshots built: {} course(s), {} KB", courses.size(), bytes / 1024);
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onCourseChanged(CourseChangedEvent event) {
+        // Runs right after the commit, before the replicas are guaranteed to have it
+        usePrimary(() -> refresh(event.courseId()));
+    }
+
+    private long refresh(Long courseId) {
+        long version = versions.incrementAndGet();
+        Course course = courseRepository.findById(courseId).orElse(null);
+        Snapshot snapshot;
+        if (course == null || !Boolean.TRUE.equals(course.getPublished())) {
+            snapshot = new Snapshot(courseId, version, null);
+        } else {
+            snapshot = new Snapshot(courseId, version,
+                    PrecompressedJson.of(objectMapper, courseService.loadCourseById(courseId), "course"));
+        }
+        snapshots.merge(courseId, snapshot, (current, next) -> next.version() > current.version() ? next : current);
+        return snapshot.payload() != null ? snapshot.payload().json().length : 0;
+    }
+
+    /**
+     * @param payload the serialised course tree, or null for an unpublished or deleted course
+     */
+    public record Snapshot(Long courseId, long version, PrecompressedJson payload) {
+    }
+}
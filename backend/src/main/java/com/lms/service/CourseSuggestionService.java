@@ -0,0 +1,169 @@
+package com.lms.service;
+
+import com.lms.dto.response.SuggestionResponse;
+import com.lms.entity.Course;
+import com.lms.entity.Module;
+import com.lms.repository.CourseRepository;
+import com.lms.repository.ModuleRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static com.lms.config.ReplicaRoutingDataSource.usePrimary;
+
+/**
+ * In-memory typeahead index over published course titles, categories and module titles.
+ * Built once at startup and kept current from {@link CourseChangedEvent}s once their change has committed,
+ * so an edit that rolls back never reaches the index.
+ */
+@Service
+@RequiredArgsConstructor
+public class CourseSuggestionService {
+    private static final Logger log = LoggerFactory.getLogger(CourseSuggestionService.class);
+    private static final int MAX_LIMIT = 20;
+
+    private final CourseRepository courseRepository;
+    private final ModuleRepository moduleRepository;
+
+    private final SuggestionTrie<SuggestionResponse> trie = new SuggestionTrie<>();
+    private final Map<Long, List<IndexedKey>> keysByCourse = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        Map<Long, List<String>> moduleTitles = new HashMap<>();
+        for (Object[] row : moduleRepository.findTitlesOfPublishedCourses()) {
+            moduleTitles.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add((String) row[1]);
+        }
+
+        List<Course> courses = courseRepository.findByPublishedTrue();
+        lock.writeLock().lock();
+        try {
+            trie.clear();
+            keysByCourse.clear();
+            for (Course course : courses) {
+                index(course.getId(), course.getTitle(), course.getCategory(),
+                        moduleTitles.getOrDefault(course.getId(), Collections.emptyList()));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Suggestion index built: {} entries for {} course(s)", trie.size(), courses.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onCourseChanged(CourseChangedEvent event) {
+        // Runs right after the commit, before the replicas are guaranteed to have it
+        usePrimary(() -> courseRepository.findById(event.courseId())
+                .ifPresentOrElse(this::reindexCourse, () -> removeCourse(event.courseId())));
+    }
+
+    /**
+     * Replaces the entries of a single course. Unpublished courses are simply dropped.
+     */
+    private void reindexCourse(Course course) {
+        List<String> moduleTitles = Collections.emptyList();
+        if (Boolean.TRUE.equals(course.getPublished()) && course.getModules() != null) {
+            moduleTitles = course.getModules().stream().map(Module::getTitle).toList();
+        }
+
+        lock.writeLock().lock();
+        try {
+            unindex(course.getId());
+            if (Boolean.TRUE.equals(course.getPublished())) {
+                index(course.getId(), course.getTitle(), course.getCategory(), moduleTitles);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removeCourse(Long courseId) {
+        lock.writeLock().lock();
+        try {
+            unindex(courseId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<SuggestionResponse> suggest(String prefix, int limit) {
+        int capped = Math.max(1, Math.min(limit, MAX_LIMIT));
+        List<SuggestionResponse> matches;
+        lock.readLock().lock();
+        try {
+            // Over-fetch because the same course can be reached through several word positions
+            matches = trie.search(prefix, capped * 4);
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        Set<SuggestionResponse> unique = new LinkedHashSet<>();
+        for (SuggestionResponse match : matches) {
+            unique.add(match);
+            if (unique.size() == capped) {
+                break;
+            }
+        }
+        return new ArrayList<>(unique);
+    }
+
+    private void index(Long courseId, String title, String category, List<String> moduleTitles) {
+        List<IndexedKey> keys = new ArrayList<>();
+        addPhrase(keys, title, new SuggestionResponse(SuggestionResponse.Type.COURSE, title, courseId));
+        // Categories are shared between courses, so they carry no course id and dedupe on output
+        addPhrase(keys, category, new SuggestionResponse(SuggestionResponse.Type.CATEGORY, category, null));
+        for (String moduleTitle : moduleTitles) {
+            addPhrase(keys, moduleTitle, new SuggestionResponse(SuggestionResponse.Type.MODULE, moduleTitle, courseId));
+        }
+        keysByCourse.put(courseId, keys);
+    }
+
+    private void unindex(Long courseId) {
+        List<IndexedKey> keys = keysByCourse.remove(courseId);
+        if (keys != null) {
+            for (IndexedKey key : keys) {
+                trie.remove(key.key(), key.value());
+            }
+        }
+    }
+
+    /**
+     * Indexes the phrase under its full text and under every later word start,
+     * so "Intro to Java" is found by "intro", "to" and "java".
+     */
+    private void addPhrase(List<IndexedKey> keys, String phrase, SuggestionResponse value) {
+        String normalized = SuggestionTrie.normalize(phrase);
+        if (normalized.isEmpty()) {
+            return;
+        }
+        for (int i = 0; i < normalized.length(); i++) {
+            if (i == 0 || (Character.isWhitespace(normalized.charAt(i - 1)) && !Character.isWhitespace(normalized.charAt(i)))) {
+                String key = normalized.substring(i);
+                trie.insert(key, value);
+                keys.add(new IndexedKey(key, value));
+            }
+        }
+    }
+
+    private record IndexedKey(String key, SuggestionResponse value) {
+    }
+}
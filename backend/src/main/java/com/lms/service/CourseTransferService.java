@@ -0,0 +1,392 @@
+package com.lms.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lms.dto.request.CourseImportRequest;
+import com.lms.dto.request.SubModuleRequest;
+import com.lms.dto.response.CourseResponse;
+import com.lms.exception.BadRequestException;
+import com.lms.exception.ResourceNotFoundException;
+import com.lms.repository.SequenceIdAllocator;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Bulk import/export of whole course trees (course, modules, submodules, questions).
+ * Imports are read as a stream of JSON course documents (NDJSON or a single object)
+ * and written with batched JDBC inserts; exports stream rows straight from a cursor.
+ */
+@Service
+public class CourseTransferService {
+    private static final int BATCH_SIZE = 100;
+    private static final int FETCH_SIZE = 200;
+
+    private static final int ROW_MODULE = 0;
+    private static final int ROW_SUB_MODULE = 1;
+    private static final int ROW_MCQ = 2;
+    private static final int ROW_CODING = 3;
+    // One row per node of the course tree in outline order; t1..t6 carry each kind's text columns
+    private static final String EXPORT_TREE_SQL =
+            "SELECT 0 AS kind, m.order_index AS module_order, m.id AS module_id, " +
+                    "CAST(NULL AS INTEGER) AS sub_order, CAST(NULL AS BIGINT) AS sub_id, " +
+                    "CAST(NULL AS INTEGER) AS item_order, CAST(NULL AS BIGINT) AS item_id, " +
+                    "m.title AS t1, CAST(NULL AS TEXT) AS t2, CAST(NULL AS TEXT) AS t3, " +
+                    "CAST(NULL AS TEXT) AS t4, CAST(NULL AS TEXT) AS t5, CAST(NULL AS TEXT) AS t6, " +
+                    "m.order_index AS order_index " +
+                    "FROM modules m WHERE m.course_id = ? " +
+            "UNION ALL " +
+            "SELECT 1, m.order_index, m.id, s.order_index, s.id, NULL, NULL, " +
+                    "s.title, s.intro_content, s.body_content, s.summary_content, s.video_url, NULL, s.order_index " +
+                    "FROM sub_modules s JOIN modules m ON m.id = s.module_id WHERE m.course_id = ? " +
+            "UNION ALL " +
+            "SELECT 2, m.order_index, m.id, s.order_index, s.id, q.order_index, q.id, " +
+                    "q.question, q.optiona, q.optionb, q.optionc, q.optiond, q.correct_option, q.order_index " +
+                    "FROM mcq_questions q JOIN sub_modules s ON s.id = q.sub_module_id " +
+                    "JOIN modules m ON m.id = s.module_id WHERE m.course_id = ? " +
+            "UNION ALL " +
+            "SELECT 3, m.order_index, m.id, s.order_index, s.id, q.order_index, q.id, " +
+                    "q.question, q.starter_code, q.solution, q.hint, NULL, NULL, q.order_index " +
+                    "FROM coding_questions q JOIN sub_modules s ON s.id = q.sub_module_id " +
+                    "JOIN modules m ON m.id = s.module_id WHERE m.course_id = ? " +
+            "ORDER BY module_order, module_id, sub_order NULLS FIRST, sub_id NULLS FIRST, kind, item_order, item_id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate streamingJdbcTemplate;
+    private final SequenceIdAllocator idAllocator;
+    private final ObjectMapper objectMapper;
+    private final EntityManagerFactory entityManagerFactory;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public CourseTransferService(JdbcTemplate jdbcTemplate,
+                                 SequenceIdAllocator idAllocator,
+                                 ObjectMapper objectMapper,
+                                 EntityManagerFactory entityManagerFactory,
+                                 ApplicationEventPublisher eventPublisher) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.streamingJdbcTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        this.streamingJdbcTemplate.setFetchSize(FETCH_SIZE);
+        this.idAllocator = idAllocator;
+        this.objectMapper = objectMapper;
+        this.entityManagerFactory = entityManagerFactory;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Transactional
+    public List<CourseResponse> importCourses(InputStream input, Long userId) throws IOException {
+        List<CourseResponse> imported = new ArrayList<>();
+        try (MappingIterator<CourseImportRequest> courses =
+                     objectMapper.readerFor(CourseImportRequest.class).readValues(input)) {
+            // Only one course tree is held in memory at a time
+            while (courses.hasNextValue()) {
+                imported.add(importCourse(courses.nextValue(), userId));
+            }
+        }
+        evictQueryCacheAfterCommit();
+        return imported;
+    }
+
+    /**
+     * Plain JDBC inserts don't touch Hibernate's update timestamps, so cached query
+     * results (e.g. the category list) would not notice the new courses on their own.
+     */
+    private void evictQueryCacheAfterCommit() {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegions();
+            }
+        });
+    }
+
+    private CourseResponse importCourse(CourseImportRequest request, Long userId) {
+        if (request.getTitle() == null || request.getTitle().isBlank()) {
+            throw new BadRequestException("Title is required");
+        }
+        List<CourseImportRequest.ModuleImport> modules = orEmpty(request.getModules());
+
+        int subModuleCount = 0;
+        int mcqCount = 0;
+        int codingCount = 0;
+        for (CourseImportRequest.ModuleImport module : modules) {
+            for (SubModuleRequest subModule : orEmpty(module.getSubModules())) {
+                subModuleCount++;
+                mcqCount += orEmpty(subModule.getMcqQuestions()).size();
+                codingCount += orEmpty(subModule.getCodingQuestions()).size();
+            }
+        }
+
+        long courseId = idAllocator.allocate("courses", 1)[0];
+        long[] moduleIds = idAllocator.allocate("modules", modules.size());
+        long[] subModuleIds = idAllocator.allocate("sub_modules", subModuleCount);
+        long[] mcqIds = idAllocator.allocate("mcq_questions", mcqCount);
+        long[] codingIds = idAllocator.allocate("coding_questions", codingCount);
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        boolean published = Boolean.TRUE.equals(request.getPublished());
+
+        List<Object[]> moduleRows = new ArrayList<>(modules.size());
+        List<Object[]> subModuleRows = new ArrayList<>(subModuleCount);
+        List<Object[]> mcqRows = new ArrayList<>(mcqCount);
+        List<Object[]> codingRows = new ArrayList<>(codingCount);
+        int s = 0, q = 0, c = 0;
+        for (int m = 0; m < modules.size(); m++) {
+            CourseImportRequest.ModuleImport module = modules.get(m);
+            if (module.getTitle() == null || module.getTitle().isBlank()) {
+                throw new BadRequestException("Module title is required");
+            }
+            moduleRows.add(new Object[]{moduleIds[m], module.getTitle(),
+                    module.getOrderIndex() != null ? module.getOrderIndex() : m, courseId, now});
+
+            List<SubModuleRequest> subModules = orEmpty(module.getSubModules());
+            for (int i = 0; i < subModules.size(); i++, s++) {
+                SubModuleRequest sm = subModules.get(i);
+                if (sm.getTitle() == null || sm.getTitle().isBlank()) {
+                    throw new BadRequestException("SubModule title is required");
+                }
+                subModuleRows.add(new Object[]{subModuleIds[s], sm.getTitle(),
+                        sm.getOrderIndex() != null ? sm.getOrderIndex() : i, moduleIds[m],
+                        sm.getIntroContent(), sm.getBodyContent(), sm.getSummaryContent(), sm.getVideoUrl(), now});
+
+                for (SubModuleRequest.McqQuestionRequest mcq : orEmpty(sm.getMcqQuestions())) {
+                    if (mcq.getQuestion() == null || mcq.getOptionA() == null
+                            || mcq.getOptionB() == null || mcq.getCorrectOption() == null) {
+                        throw new BadRequestException("MCQ question, option A, option B and correct option are required");
+                    }
+                    mcqRows.add(new Object[]{mcqIds[q++], subModuleIds[s], mcq.getQuestion(),
+                            mcq.getOptionA(), mcq.getOptionB(), mcq.getOptionC(), mcq.getOptionD(),
+                            mcq.getCorrectOption(), mcq.getOrderIndex()});
+                }
+                for (SubModuleRequest.CodingQuestionRequest code : orEmpty(sm.getCodingQuestions())) {
+                    if (code.getQuestion() == null) {
+                        throw new BadRequestException("Coding question text is required");
+                    }
+                    codingRows.add(new Object[]{codingIds[c++], subModuleIds[s], code.getQuestion(),
+                            code.getStarterCode(), code.getSolution(), code.getHint(), code.getOrderIndex()});
+                }
+            }
+        }
+
+        jdbcTemplate.update(
+                "INSERT INTO courses (id, title, description, category, difficulty, published, thumbnail_url, " +
+                        "created_by, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                courseId, request.getTitle(), request.getDescription(), request.getCategory(),
+                request.getDifficulty() != null ? request.getDifficulty().name() : null,
+                published, request.getThumbnailUrl(), userId, now, now);
+        batchInsert("INSERT INTO modules (id, title, order_index, course_id, created_at) VALUES (?, ?, ?, ?, ?)",
+                moduleRows);
+        batchInsert("INSERT INTO sub_modules (id, title, order_index, module_id, intro_content, body_content, " +
+                "summary_content, video_url, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", subModuleRows);
+        batchInsert("INSERT INTO mcq_questions (id, sub_module_id, question, optiona, optionb, optionc, " +
+                "optiond, correct_option, order_index) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", mcqRows);
+        batchInsert("INSERT INTO coding_questions (id, sub_module_id, question, starter_code, solution, hint, " +
+                "order_index) VALUES (?, ?, ?, ?, ?, ?, ?)", codingRows);
+
+        if (published) {
+            eventPublisher.publishEvent(new CourseChangedEvent(courseId));
+        }
+
+        return CourseResponse.builder()
+                .id(courseId)
+                .title(request.getTitle())
+                .description(request.getDescription())
+                .category(request.getCategory())
+                .difficulty(request.getDifficulty())
+                .thumbnailUrl(request.getThumbnailUrl())
+                .published(published)
+                .createdById(userId)
+                .moduleCount(modules.size())
+                .totalSubModules(subModuleCount)
+                .createdAt(now.toLocalDateTime())
+                .build();
+    }
+
+    /**
+     * Fails with a 404 while the response can still carry it; the export itself
+     * runs later, after the headers have been sent.
+     */
+    @Transactional(readOnly = true)
+    public void checkExportable(Long courseId) {
+        if (!Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM courses WHERE id = ?)", Boolean.class, courseId))) {
+            throw new ResourceNotFoundException("Course not found");
+        }
+    }
+
+    /**
+     * Writes the course tree as one JSON document in the same shape accepted by
+     * {@link #importCourses}. The whole tree comes off a single cursor in outline
+     * order and is written row by row, so nothing but the course header is held.
+     */
+    @Transactional(readOnly = true)
+    public void exportCourse(Long courseId, OutputStream output) throws IOException {
+        List<Object[]> courseRows = jdbcTemplate.query(
+                "SELECT title, description, category, difficulty, thumbnail_url, published FROM courses WHERE id = ?",
+                (rs, rowNum) -> new Object[]{rs.getString(1), rs.getString(2), rs.getString(3),
+                        rs.getString(4), rs.getString(5), rs.getBoolean(6)},
+                courseId);
+        if (courseRows.isEmpty()) {
+            throw new ResourceNotFoundException("Course not found");
+        }
+        Object[] course = courseRows.get(0);
+
+        try (JsonGenerator json = objectMapper.getFactory().createGenerator(output)) {
+            json.writeStartObject();
+            json.writeStringField("title", (String) course[0]);
+            json.writeStringField("description", (String) course[1]);
+            json.writeStringField("category", (String) course[2]);
+            json.writeStringField("difficulty", (String) course[3]);
+            json.writeStringField("thumbnailUrl", (String) course[4]);
+            json.writeBooleanField("published", (Boolean) course[5]);
+            json.writeArrayFieldStart("modules");
+            TreeWriter tree = new TreeWriter(json);
+            streamingJdbcTemplate.query(EXPORT_TREE_SQL, rs -> {
+                try {
+                    tree.write(rs);
+                } catch (IOException e) {
+                    throw new IllegalStateException("Failed to write course export", e);
+                }
+            }, courseId, courseId, courseId, courseId);
+            tree.finish();
+            json.writeEndArray();
+            json.writeEndObject();
+        }
+    }
+
+    /**
+     * Nests the rows of {@link #EXPORT_TREE_SQL}, which arrive as each module followed by
+     * its submodules, each submodule followed by its MCQ and then its coding questions.
+     */
+    private final class TreeWriter {
+        private final JsonGenerator json;
+        private boolean inModule;
+        private boolean inSubModule;
+        private int questionKind;
+
+        private TreeWriter(JsonGenerator json) {
+            this.json = json;
+        }
+
+        void write(ResultSet rs) throws IOException, SQLException {
+            int kind = rs.getInt("kind");
+            switch (kind) {
+                case ROW_MODULE -> {
+                    closeModule();
+                    json.writeStartObject();
+                    json.writeStringField("title", rs.getString("t1"));
+                    writeInteger(json, "orderIndex", rs, "order_index");
+                    json.writeArrayFieldStart("subModules");
+                    inModule = true;
+                }
+                case ROW_SUB_MODULE -> {
+                    closeSubModule();
+                    json.writeStartObject();
+                    json.writeStringField("title", rs.getString("t1"));
+                    writeInteger(json, "orderIndex", rs, "order_index");
+                    json.writeStringField("introContent", rs.getString("t2"));
+                    json.writeStringField("bodyContent", rs.getString("t3"));
+                    json.writeStringField("summaryContent", rs.getString("t4"));
+                    json.writeStringField("videoUrl", rs.getString("t5"));
+                    inSubModule = true;
+                    questionKind = ROW_SUB_MODULE;
+                }
+                case ROW_MCQ -> {
+                    openQuestions(ROW_MCQ);
+                    json.writeStartObject();
+                    json.writeStringField("question", rs.getString("t1"));
+                    json.writeStringField("optionA", rs.getString("t2"));
+                    json.writeStringField("optionB", rs.getString("t3"));
+                    json.writeStringField("optionC", rs.getString("t4"));
+                    json.writeStringField("optionD", rs.getString("t5"));
+                    json.writeStringField("correctOption", rs.getString("t6"));
+                    writeInteger(json, "orderIndex", rs, "order_index");
+                    json.writeEndObject();
+                }
+                case ROW_CODING -> {
+                    openQuestions(ROW_CODING);
+                    json.writeStartObject();
+                    json.writeStringField("question", rs.getString("t1"));
+                    json.writeStringField("starterCode", rs.getString("t2"));
+                    json.writeStringField("solution", rs.getString("t3"));
+                    json.writeStringField("hint", rs.getString("t4"));
+                    writeInteger(json, "orderIndex", rs, "order_index");
+                    json.writeEndObject();
+                }
+                default -> throw new IllegalStateException("Unknown export row kind " + kind);
+            }
+        }
+
+        void finish() throws IOException {
+            closeModule();
+        }
+
+        /**
+         * Moves the current submodule on to the question array for {@code kind}, writing any
+         * array it skips as empty so both arrays are always present.
+         */
+        private void openQuestions(int kind) throws IOException {
+            while (questionKind < kind) {
+                if (questionKind > ROW_SUB_MODULE) {
+                    json.writeEndArray();
+                }
+                questionKind++;
+                json.writeArrayFieldStart(questionKind == ROW_MCQ ? "mcqQuestions" : "codingQuestions");
+            }
+        }
+
+        private void closeSubModule() throws IOException {
+            if (inSubModule) {
+                openQuestions(ROW_CODING);
+                json.writeEndArray();
+                json.writeEndObject();
+                inSubModule = false;
+            }
+        }
+
+        private void closeModule() throws IOException {
+            closeSubModule();
+            if (inModule) {
+                json.writeEndArray();
+                json.writeEndObject();
+                inModule = false;
+            }
+        }
+    }
+
+    private void writeInteger(JsonGenerator json, String field, ResultSet rs, String column)
+            throws IOException, SQLException {
+        int value = rs.getInt(column);
+        if (rs.wasNull()) {
+            json.writeNullField(field);
+        } else {
+            json.writeNumberField(field, value);
+        }
+    }
+
+    private void batchInsert(String sql, List<Object[]> rows) {
+        for (int from = 0; from < rows.size(); from += BATCH_SIZE) {
+            jdbcTemplate.batchUpdate(sql, rows.subList(from, Math.min(from + BATCH_SIZE, rows.size())));
+        }
+    }
+
+    private static <T> List<T> orEmpty(List<T> list) {
+        return list != null ? list : Collections.emptyList();
+    }
+}
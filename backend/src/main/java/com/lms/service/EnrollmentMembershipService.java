@@ -0,0 +1,123 @@
+package com.lms.service;
+
+import com.lms.repository.EnrollmentRepository;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.lms.config.ReplicaRoutingDataSource.usePrimary;
+
+/**
+ * Per-learner set of enrolled course ids, cached in memory ("enrollment-memberships") so the
+ * enrollment check and catalog badges don't query enrollments. Loaded once per learner and then
+ * kept current by the enrollment writes, which apply their change to the cached set after commit.
+ *
+ * A write that finds no cached set leaves a marker instead, so a load that read the database
+ * before the write committed can't cache its stale result afterwards. Other nodes are told over
+ * the {@link InvalidationBus} and replace their cached set with such a marker.
+ */
+@Service
+public class EnrollmentMembershipService {
+    private static final String TOPIC = "enrollments";
+
+    private final EnrollmentRepository enrollmentRepository;
+    private final InvalidationBus invalidationBus;
+    private final Cache<Long, Membership> memberships;
+    private final AtomicLong stamps = new AtomicLong();
+
+    public EnrollmentMembershipService(EnrollmentRepository enrollmentRepository,
+                                       InvalidationBus invalidationBus,
+                                       CacheManager cacheManager) {
+        this.enrollmentRepository = enrollmentRepository;
+        this.invalidationBus = invalidationBus;
+        this.memberships = cacheManager.getCache("enrollment-memberships", Long.class, Membership.class);
+
+        invalidationBus.subscribe(TOPIC, userIds -> userIds.forEach(this::invalidate));
+        invalidationBus.onResync(memberships::clear);
+    }
+
+    public boolean isEnrolled(Long userId, Long courseId) {
+        return courses(userId).contains(Math.toIntExact(courseId));
+    }
+
+    public List<Long> enrolledCourseIds(Long userId) {
+        return courses(userId).stream().mapToObj(id -> (long) id).toList();
+    }
+
+    /**
+     * Adds or removes the course for each learner once the current transaction commits.
+     */
+    public void recordAfterCommit(Collection<Long> userIds, Long courseId, boolean enrolled) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        invalidationBus.publish(TOPIC, List.copyOf(userIds));
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                for (Long userId : userIds) {
+                    apply(userId, courseId, enrolled);
+                }
+            }
+        });
+    }
+
+    private void apply(Long userId, Long courseId, boolean enrolled) {
+        memberships.invoke(userId, (entry, args) -> {
+            RoaringBitmap courses = entry.exists() ? entry.getValue().courses() : null;
+            if (courses != null) {
+                courses = courses.clone();
+                if (enrolled) {
+                    courses.add(Math.toIntExact(courseId));
+                } else {
+                    courses.remove(Math.toIntExact(courseId));
+                }
+            }
+            entry.setValue(new Membership(stamps.incrementAndGet(), courses));
+            return null;
+        });
+    }
+
+    private void invalidate(Long userId) {
+        memberships.put(userId, new Membership(stamps.incrementAndGet(), null));
+    }
+
+    /**
+     * The learner's enrolled courses; the returned bitmap is shared and must not be modified.
+     */
+    private RoaringBitmap courses(Long userId) {
+        Membership observed = memberships.get(userId);
+        if (observed != null && observed.courses() != null) {
+            return observed.courses();
+        }
+        RoaringBitmap courses = new RoaringBitmap();
+        // From the primary: a replica may not have the write behind the marker yet
+        for (Long courseId : usePrimary(() -> enrollmentRepository.findCourseIdsByUserId(userId))) {
+            courses.add(Math.toIntExact(courseId));
+        }
+        courses.runOptimize();
+        Membership loaded = new Membership(stamps.incrementAndGet(), courses);
+        // Only cache if no write touched the entry while we were reading
+        memberships.invoke(userId, (entry, args) -> {
+            Membership current = entry.exists() ? entry.getValue() : null;
+            if (observed == null ? current == null : current != null && current.stamp() == observed.stamp()) {
+                entry.setValue(loaded);
+            }
+            return null;
+        });
+        return courses;
+    }
+
+    /**
+     * @param courses null while a write has invalidated the entry and no load has replaced it
+     */
+    public record Membership(long stamp, RoaringBitmap courses) {
+    }
+}
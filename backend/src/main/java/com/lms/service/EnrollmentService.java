@@ -1,5 +1,7 @@
 package com.lms.service;
 
+import com.lms.dto.request.BulkEnrollmentRequest;
+import com.lms.dto.response.BulkEnrollmentResponse;
 import com.lms.dto.response.EnrollmentResponse;
 import com.lms.entity.Course;
 import com.lms.entity.Enrollment;
@@ -8,39 +10,62 @@ import com.lms.exception.BadRequestException;
 import com.lms.exception.ResourceNotFoundException;
 import com.lms.repository.CourseRepository;
 import com.lms.repository.EnrollmentRepository;
-import com.lms.repository.ProgressRepository;
-import com.lms.repository.SubModuleRepository;
+import com.lms.repository.EnrollmentSummary;
+import com.lms.repository.SequenceIdAllocator;
 import com.lms.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class EnrollmentService {
+    private static final int MAX_BULK_ENROLLMENTS = 50_000;
+    private static final int BULK_CHUNK_SIZE = 1000;
+
     private final EnrollmentRepository enrollmentRepository;
     private final UserRepository userRepository;
     private final CourseRepository courseRepository;
-    private final ProgressRepository progressRepository;
-    private final SubModuleRepository subModuleRepository;
+    private final SequenceIdAllocator idAllocator;
+    private final JdbcTemplate jdbcTemplate;
+    private final CompletionService completionService;
+    private final EnrollmentMembershipService enrollmentMembershipService;
 
+    @Transactional(readOnly = true)
     public List<EnrollmentResponse> getUserEnrollments(Long userId) {
-        return enrollmentRepository.findByUserId(userId).stream()
+        return enrollmentRepository.findSummariesByUserId(userId).stream()
                 .map(this::mapToResponse)
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public EnrollmentResponse getEnrollment(Long userId, Long courseId) {
-        Enrollment enrollment = enrollmentRepository.findByUserIdAndCourseId(userId, courseId)
+        EnrollmentSummary enrollment = enrollmentRepository.findSummaryByUserIdAndCourseId(userId, courseId)
                 .orElseThrow(() -> new ResourceNotFoundException("Enrollment not found"));
         return mapToResponse(enrollment);
     }
 
     public boolean isEnrolled(Long userId, Long courseId) {
-        return enrollmentRepository.existsByUserIdAndCourseId(userId, courseId);
+        return enrollmentMembershipService.isEnrolled(userId, courseId);
+    }
+
+    public List<Long> getEnrolledCourseIds(Long userId) {
+        return enrollmentMembershipService.enrolledCourseIds(userId);
     }
 
     @Transactional
@@ -66,35 +91,151 @@ public class EnrollmentService {
                 .build();
 
         enrollment = enrollmentRepository.save(enrollment);
+        enrollmentMembershipService.recordAfterCommit(List.of(userId), courseId, true);
         return mapToResponse(enrollment);
     }
 
+    /**
+     * Enrolls a whole cohort in one pass: users are resolved with set-based lookups and
+     * enrollments are inserted in batches, skipping learners who are already enrolled.
+     */
+    @Transactional
+    public BulkEnrollmentResponse bulkEnroll(Long courseId, BulkEnrollmentRequest request) {
+        Course course = courseRepository.findById(courseId)
+                .orElseThrow(() -> new ResourceNotFoundException("Course not found"));
+
+        if (!course.getPublished()) {
+            throw new BadRequestException("Course is not available for enrollment");
+        }
+
+        List<Long> userIds = request.getUserIds() != null ? request.getUserIds() : Collections.emptyList();
+        List<String> emails = request.getEmails() != null ? request.getEmails() : Collections.emptyList();
+        if (userIds.size() + emails.size() > MAX_BULK_ENROLLMENTS) {
+            throw new BadRequestException("At most " + MAX_BULK_ENROLLMENTS + " learners can be enrolled per request");
+        }
+
+        Set<Long> knownIds = new HashSet<>();
+        for (List<Long> chunk : chunks(new ArrayList<>(new LinkedHashSet<>(userIds)))) {
+            knownIds.addAll(userRepository.findExistingIds(chunk));
+        }
+        Map<String, Long> idsByEmail = new HashMap<>();
+        for (List<String> chunk : chunks(new ArrayList<>(new LinkedHashSet<>(emails)))) {
+            for (Object[] row : userRepository.findIdsByEmails(chunk)) {
+                idsByEmail.put((String) row[0], (Long) row[1]);
+            }
+        }
+
+        // Identifier -> resolved user id (null when unknown), in request order
+        List<Map.Entry<String, Long>> resolved = new ArrayList<>(userIds.size() + emails.size());
+        for (Long userId : userIds) {
+            resolved.add(new AbstractMap.SimpleEntry<>(String.valueOf(userId), knownIds.contains(userId) ? userId : null));
+        }
+        for (String email : emails) {
+            resolved.add(new AbstractMap.SimpleEntry<>(email, idsByEmail.get(email)));
+        }
+
+        List<Long> toInsert = resolved.stream()
+                .map(Map.Entry::getValue)
+                .filter(Objects::nonNull)
+                .distinct()
+                .collect(Collectors.toList());
+        Set<Long> newlyEnrolled = insertEnrollments(courseId, toInsert);
+        enrollmentMembershipService.recordAfterCommit(newlyEnrolled, courseId, true);
+
+        List<BulkEnrollmentResponse.Result> results = new ArrayList<>(resolved.size());
+        Set<Long> reported = new HashSet<>();
+        int enrolled = 0, alreadyEnrolled = 0, notFound = 0;
+        for (Map.Entry<String, Long> entry : resolved) {
+            Long userId = entry.getValue();
+            BulkEnrollmentResponse.Status status;
+            if (userId == null) {
+                status = BulkEnrollmentResponse.Status.USER_NOT_FOUND;
+                notFound++;
+            } else if (newlyEnrolled.contains(userId) && reported.add(userId)) {
+                status = BulkEnrollmentResponse.Status.ENROLLED;
+                enrolled++;
+            } else {
+                status = BulkEnrollmentResponse.Status.ALREADY_ENROLLED;
+                alreadyEnrolled++;
+            }
+            results.add(BulkEnrollmentResponse.Result.builder()
+                    .identifier(entry.getKey())
+                    .userId(userId)
+                    .status(status)
+                    .build());
+        }
+
+        return BulkEnrollmentResponse.builder()
+                .courseId(courseId)
+                .enrolled(enrolled)
+                .alreadyEnrolled(alreadyEnrolled)
+                .notFound(notFound)
+                .results(results)
+                .build();
+    }
+
+    private Set<Long> insertEnrollments(Long courseId, List<Long> userIds) {
+        Set<Long> inserted = new HashSet<>();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (List<Long> chunk : chunks(userIds)) {
+            long[] ids = idAllocator.allocate("enrollments", chunk.size());
+            List<Object[]> rows = new ArrayList<>(chunk.size());
+            for (int i = 0; i < chunk.size(); i++) {
+                rows.add(new Object[]{ids[i], chunk.get(i), courseId, Enrollment.Status.ACTIVE.name(), now});
+            }
+            int[] counts = jdbcTemplate.batchUpdate(
+                    "INSERT INTO enrollments (id, user_id, course_id, status, enrolled_at) VALUES (?, ?, ?, ?, ?) " +
+                            "ON CONFLICT (user_id, course_id) DO NOTHING",
+                    rows);
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] > 0) {
+                    inserted.add(chunk.get(i));
+                }
+            }
+        }
+        return inserted;
+    }
+
+    private static <T> List<List<T>> chunks(List<T> items) {
+        List<List<T>> chunks = new ArrayList<>();
+        for (int from = 0; from < items.size(); from += BULK_CHUNK_SIZE) {
+            chunks.add(items.subList(from, Math.min(from + BULK_CHUNK_SIZE, items.size())));
+        }
+        return chunks;
+    }
+
     @Transactional
     public void unenroll(Long userId, Long courseId) {
         Enrollment enrollment = enrollmentRepository.findByUserIdAndCourseId(userId, courseId)
                 .orElseThrow(() -> new ResourceNotFoundException("Enrollment not found"));
         enrollmentRepository.delete(enrollment);
+        enrollmentMembershipService.recordAfterCommit(List.of(userId), courseId, false);
     }
 
     private EnrollmentResponse mapToResponse(Enrollment enrollment) {
-        int totalSubModules = subModuleRepository.countByCourseId(enrollment.getCourse().getId());
-        int completedSubModules = progressRepository.countCompletedByUserIdAndCourseId(
-                enrollment.getUser().getId(), enrollment.getCourse().getId());
+        return mapToResponse(new EnrollmentSummary(enrollment.getId(), enrollment.getUser().getId(),
+                enrollment.getCourse().getId(), enrollment.getCourse().getTitle(),
+                enrollment.getStatus(), enrollment.getEnrolledAt()));
+    }
+
+    private EnrollmentResponse mapToResponse(EnrollmentSummary enrollment) {
+        int totalSubModules = completionService.lessons(enrollment.courseId()).count();
+        int completedSubModules = completionService.completedCount(enrollment.userId(), enrollment.courseId());
         
         int progressPercentage = totalSubModules > 0 
                 ? (int) Math.round((double) completedSubModules / totalSubModules * 100) 
                 : 0;
 
         return EnrollmentResponse.builder()
-                .id(enrollment.getId())
-                .userId(enrollment.getUser().getId())
-                .courseId(enrollment.getCourse().getId())
-                .courseTitle(enrollment.getCourse().getTitle())
-                .status(enrollment.getStatus().name())
+                .id(enrollment.id())
+                .userId(enrollment.userId())
+                .courseId(enrollment.courseId())
+                .courseTitle(enrollment.courseTitle())
+                .status(enrollment.status().name())
                 .progressPercentage(progressPercentage)
                 .completedSubModules(completedSubModules)
                 .totalSubModules(totalSubModules)
-                .enrolledAt(enrollment.getEnrolledAt())
+                .enrolledAt(enrollment.enrolledAt())
                 .build();
     }
 }
@@ -0,0 +1,208 @@
+package com.lms.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Cross-node cache invalidation over Postgres LISTEN/NOTIFY. Messages are sent with pg_notify
+ * inside the writing transaction, so Postgres delivers them only once it commits (and drops
+ * them on rollback). Every node listens on a dedicated connection outside the pool and hands
+ * messages from other nodes to the handlers subscribed to their topic.
+ *
+ * Notifications sent while a node is disconnected are lost, so after a reconnect the resync
+ * handlers run and should drop whatever the node may have missed.
+ */
+@Service
+public class InvalidationBus {
+    private static final Logger log = LoggerFactory.getLogger(InvalidationBus.class);
+    private static final String CHANNEL = "lms_invalidation";
+    // NOTIFY payloads are limited to 8000 bytes
+    private static final int IDS_PER_MESSAGE = 300;
+    private static final int POLL_MILLIS = 10_000;
+    private static final long MAX_BACKOFF_MILLIS = 30_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSourceProperties dataSourceProperties;
+    private final ObjectMapper objectMapper;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Map<String, List<Consumer<List<Long>>>> handlers = new ConcurrentHashMap<>();
+    private final List<Runnable> resyncHandlers = new CopyOnWriteArrayList<>();
+
+    @Value("${lms.invalidation.enabled:true}")
+    private boolean enabled;
+
+    private volatile boolean running;
+    private Thread listener;
+
+    public InvalidationBus(JdbcTemplate jdbcTemplate,
+                           DataSourceProperties dataSourceProperties,
+                           ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSourceProperties = dataSourceProperties;
+        this.objectMapper = objectMapper;
+    }
+
+    public void subscribe(String topic, Consumer<List<Long>> handler) {
+        handlers.computeIfAbsent(topic, t -> new CopyOnWriteArrayList<>()).add(handler);
+    }
+
+    public void onResync(Runnable handler) {
+        resyncHandlers.add(handler);
+    }
+
+    /**
+     * Tells the other nodes that the given ids of the topic changed. Must be called inside the
+     * transaction making the change; the local node is expected to update its own caches itself.
+     */
+    public void publish(String topic, List<Long> ids) {
+        if (!enabled || ids.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Invalidations must be published inside the writing transaction");
+        }
+        for (int from = 0; from < ids.size(); from += IDS_PER_MESSAGE) {
+            Message message = new Message(nodeId, topic, ids.subList(from, Math.min(from + IDS_PER_MESSAGE, ids.size())));
+            try {
+                jdbcTemplate.queryForObject("SELECT pg_notify(?, ?)", Object.class,
+                        CHANNEL, objectMapper.writeValueAsString(message));
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    /**
+     * Starts listening before the other startup listeners build their caches, so nothing
+     * committed after those builds read the database can be missed.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void start() throws SQLException {
+        if (!enabled) {
+            return;
+        }
+        Connection connection = connect();
+        running = true;
+        listener = new Thread(() -> listen(connection), "invalidation-listener");
+        listener.setDaemon(true);
+        listener.start();
+        log.info("Listening for cache invalidations on {} (node {})", CHANNEL, nodeId);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (listener != null) {
+            listener.interrupt();
+        }
+    }
+
+    private void listen(Connection initial) {
+        Connection connection = initial;
+        long backoff = 1000;
+        while (running) {
+            try {
+                if (connection == null) {
+                    connection = connect();
+                    log.info("Invalidation listener reconnected, dropping caches that may have missed changes");
+                    resyncHandlers.forEach(this::runSafely);
+                    backoff = 1000;
+                }
+                PGNotification[] notifications = connection.unwrap(PGConnection.class).getNotifications(POLL_MILLIS);
+                if (notifications != null) {
+                    for (PGNotification notification : notifications) {
+                        dispatch(notification.getParameter());
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    break;
+                }
+                log.warn("Invalidation listener lost its connection, retrying in {} ms: {}", backoff, e.getMessage());
+                close(connection);
+                connection = null;
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+                backoff = Math.min(backoff * 2, MAX_BACKOFF_MILLIS);
+            }
+        }
+        close(connection);
+    }
+
+    private void dispatch(String payload) {
+        Message message;
+        try {
+            message = objectMapper.readValue(payload, Message.class);
+        } catch (JsonProcessingException e) {
+            log.warn("Ignoring malformed invalidation message: {}", payload);
+            return;
+        }
+        if (nodeId.equals(message.node())) {
+            return;
+        }
+        for (Consumer<List<Long>> handler : handlers.getOrDefault(message.topic(), List.of())) {
+            runSafely(() -> handler.accept(message.ids()));
+        }
+    }
+
+    private void runSafely(Runnable handler) {
+        try {
+            handler.run();
+        } catch (RuntimeException e) {
+            // One failing handler must not stop the listener or the other handlers
+            log.error("Cache invalidation handler failed", e);
+        }
+    }
+
+    private Connection connect() throws SQLException {
+        Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword());
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("LISTEN " + CHANNEL);
+        }
+        return connection;
+    }
+
+    private static void close(Connection connection) {
+        if (connection != null) {
+            try {
+                connection.close();
+            } catch (SQLException ignored) {
+                // Already broken
+            }
+        }
+    }
+
+    record Message(String node, String topic, List<Long> ids) {
+    }
+}
@@ -0,0 +1,426 @@
+package com.lms.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lms.dto.response.JobResponse;
+import com.lms.exception.BadRequestException;
+import com.lms.exception.ResourceNotFoundException;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Durable background jobs in the jobs table, run by every node without an external broker.
+ * Each node polls for jobs of the types it has handlers for and claims them in batches with
+ * FOR UPDATE SKIP LOCKED, so nodes never wait on each other or run the same job twice at once.
+ * Higher priorities run first, then the oldest.
+ *
+ * A failed job is retried with exponential backoff until it runs out of attempts; bad requests
+ * and missing resources fail at once. A claimed job is leased to its node, which keeps renewing
+ * the lease while the job runs. If the node dies, the lease expires and another node picks the
+ * job up, so a job can run more than once and handlers must be idempotent.
+ */
+@Service
+public class JobQueue {
+    private static final Logger log = LoggerFactory.getLogger(JobQueue.class);
+    public static final int PRIORITY_LOW = -10;
+    public static final int PRIORITY_NORMAL = 0;
+    public static final int PRIORITY_HIGH = 10;
+    private static final Duration MAX_RETRY_DELAY = Duration.ofHours(1);
+    private static final int MAX_ERROR_LENGTH = 4000;
+
+    private static final String JOB_COLUMNS = "id, type, status, priority, attempts, max_attempts, run_at, " +
+            "locked_by, last_error, created_at, finished_at";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Map<String, JobHandler> handlers = new ConcurrentHashMap<>();
+
+    @Value("${lms.jobs.enabled:true}")
+    private boolean enabled;
+
+    @Value("${lms.jobs.workers:4}")
+    private int workerCount;
+
+    @Value("${lms.jobs.batch-size:10}")
+    private int batchSize;
+
+    @Value("${lms.jobs.poll-interval:1s}")
+    private Duration pollInterval;
+
+    @Value("${lms.jobs.lease:5m}")
+    private Duration lease;
+
+    @Value("${lms.jobs.retry-delay:10s}")
+    private Duration retryDelay;
+
+    @Value("${lms.jobs.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${lms.jobs.retention:7d}")
+    private Duration retention;
+
+    private volatile boolean running;
+    private volatile boolean interrupting;
+    private Thread poller;
+    private ExecutorService workers;
+    private ScheduledExecutorService leaseKeeper;
+    private Semaphore freeWorkers;
+
+    public JobQueue(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Runs jobs of the given type on this node. Whatever the handler returns is stored as the
+     * job's result (as JSON) for the admin view.
+     */
+    public void register(String type, JobHandler handler) {
+        handlers.put(type, handler);
+    }
+
+    public long enqueue(String type, Object payload) {
+        return enqueue(type, payload, PRIORITY_NORMAL);
+    }
+
+    /**
+     * Adds a job, serialising {@code payload} as JSON. Joins the caller's transaction if there
+     * is one, so the job only becomes visible to the workers once the work that produced it commits.
+     */
+    public long enqueue(String type, Object payload, int priority) {
+        return jdbcTemplate.queryForObject(
+                "INSERT INTO jobs (type, payload, priority, status, attempts, max_attempts, run_at, created_at) " +
+                "VALUES (?, ?::jsonb, ?, 'QUEUED', 0, ?, now(), now()) RETURNING id",
+                Long.class, type, toJson(payload), priority, maxAttempts);
+    }
+
+    public List<JobResponse> getJobs(Status status, int limit) {
+        if (status == null) {
+            return jdbcTemplate.query("SELECT " + JOB_COLUMNS + " FROM jobs ORDER BY id DESC LIMIT ?",
+                    summaryMapper(), limit);
+        }
+        return jdbcTemplate.query("SELECT " + JOB_COLUMNS + " FROM jobs WHERE status = ? ORDER BY id DESC LIMIT ?",
+                summaryMapper(), status.name(), limit);
+    }
+
+    public JobResponse getJob(Long id) {
+        List<JobResponse> jobs = jdbcTemplate.query(
+                "SELECT " + JOB_COLUMNS + ", payload::text, result::text FROM jobs WHERE id = ?",
+                (rs, i) -> {
+                    JobResponse job = summaryMapper().mapRow(rs, i);
+                    job.setPayload(rs.getString("payload"));
+                    job.setResult(rs.getString("result"));
+                    return job;
+                }, id);
+        if (jobs.isEmpty()) {
+            throw new ResourceNotFoundException("Job not found");
+        }
+        return jobs.get(0);
+    }
+
+    /**
+     * Number of jobs per status, including statuses without jobs.
+     */
+    public Map<Status, Long> countByStatus() {
+        Map<Status, Long> counts = new LinkedHashMap<>();
+        for (Status status : Status.values()) {
+            counts.put(status, 0L);
+        }
+        jdbcTemplate.query("SELECT status, COUNT(*) FROM jobs GROUP BY status", rs -> {
+            counts.put(Status.valueOf(rs.getString(1)), rs.getLong(2));
+        });
+        return counts;
+    }
+
+    /**
+     * Queues a failed or cancelled job again, with a fresh set of attempts.
+     */
+    public JobResponse retry(Long id) {
+        int updated = jdbcTemplate.update(
+                "UPDATE jobs SET status = 'QUEUED', attempts = 0, run_at = now(), finished_at = NULL " +
+                "WHERE id = ? AND status IN ('FAILED', 'CANCELLED')", id);
+        if (updated == 0) {
+            getJob(id); // 404 for an unknown job
+            throw new BadRequestException("Only failed or cancelled jobs can be retried");
+        }
+        return getJob(id);
+    }
+
+    public JobResponse cancel(Long id) {
+        int updated = jdbcTemplate.update(
+                "UPDATE jobs SET status = 'CANCELLED', finished_at = now() WHERE id = ? AND status = 'QUEUED'", id);
+        if (updated == 0) {
+            getJob(id); // 404 for an unknown job
+            throw new BadRequestException("Only queued jobs can be cancelled");
+        }
+        return getJob(id);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        freeWorkers = new Semaphore(workerCount);
+        AtomicInteger threads = new AtomicInteger();
+        workers = Executors.newFixedThreadPool(workerCount, runnable -> {
+            Thread thread = new Thread(runnable, "job-worker-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Leases are renewed on their own thread: the poller blocks while every worker is busy
+        leaseKeeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "job-lease-keeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Renew well within the lease so a slow renewal can't let it lapse
+        long period = Math.max(lease.toMillis() / 3, 1);
+        leaseKeeper.scheduleWithFixedDelay(this::maintain, 0, period, TimeUnit.MILLISECONDS);
+        poller = new Thread(this::poll, "job-poller");
+        poller.setDaemon(true);
+        poller.start();
+        log.info("Job workers started: {} worker(s) for {} (node {})", workerCount, handlers.keySet(), nodeId);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (!running) {
+            return;
+        }
+        running = false;
+        poller.interrupt();
+        workers.shutdown();
+        if (!workers.awaitTermination(30, TimeUnit.SECONDS)) {
+            // Stop the workers before their jobs are handed to another node
+            interrupting = true;
+            workers.shutdownNow();
+            if (!workers.awaitTermination(10, TimeUnit.SECONDS)) {
+                log.warn("Job workers did not stop on interrupt; their jobs may run again elsewhere");
+            }
+        }
+        leaseKeeper.shutdownNow();
+        // Hand unfinished jobs back now rather than when their lease runs out; the attempt doesn't count
+        int released = jdbcTemplate.update(
+                "UPDATE jobs SET status = 'QUEUED', attempts = attempts - 1, run_at = now(), " +
+                "locked_by = NULL, locked_until = NULL WHERE locked_by = ? AND status = 'RUNNING'", nodeId);
+        if (released > 0) {
+            log.info("Released {} unfinished job(s) on shutdown", released);
+        }
+    }
+
+    private void poll() {
+        while (running) {
+            try {
+                // Wait for a free worker, then claim as many jobs as there are free workers
+                freeWorkers.acquire();
+                int free = 1 + freeWorkers.drainPermits();
+                int wanted = Math.min(free, batchSize);
+                List<ClaimedJob> jobs = List.of();
+                try {
+                    jobs = claim(wanted);
+                } finally {
+                    freeWorkers.release(free - jobs.size());
+                }
+                for (ClaimedJob job : jobs) {
+                    workers.execute(() -> {
+                        try {
+                            execute(job);
+                        } finally {
+                            freeWorkers.release();
+                        }
+                    });
+                }
+                if (jobs.size() < wanted) {
+                    Thread.sleep(pollInterval.toMillis());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (RuntimeException e) {
+                log.warn("Job poller failed, retrying in {}: {}", pollInterval, e.getMessage());
+                try {
+                    Thread.sleep(pollInterval.toMillis());
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+    }
+
+    private List<ClaimedJob> claim(int limit) {
+        if (handlers.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.query(
+                "UPDATE jobs SET status = 'RUNNING', attempts = attempts + 1, locked_by = ?, " +
+                "locked_until = now() + make_interval(secs => ?) " +
+                "WHERE id IN (SELECT id FROM jobs WHERE status = 'QUEUED' AND run_at <= now() AND type = ANY (?) " +
+                "ORDER BY priority DESC, run_at, id LIMIT ? FOR UPDATE SKIP LOCKED) " +
+                "RETURNING id, type, payload::text, attempts, max_attempts",
+                (rs, i) -> new ClaimedJob(rs.getLong(1), rs.getString(2), rs.getString(3), rs.getInt(4), rs.getInt(5)),
+                nodeId, seconds(lease), handlers.keySet().toArray(String[]::new), limit);
+    }
+
+    private void execute(ClaimedJob job) {
+        Timer.Sample sample = Timer.start();
+        String outcome;
+        try {
+            Object result = handlers.get(job.type()).run(objectMapper.readTree(job.payload()));
+            int updated = jdbcTemplate.update(
+                    "UPDATE jobs SET status = 'SUCCEEDED', result = ?::jsonb, finished_at = now(), last_error = NULL, " +
+                    "locked_by = NULL, locked_until = NULL WHERE id = ? AND locked_by = ? AND status = 'RUNNING'",
+                    result != null ? toJson(result) : null, job.id(), nodeId);
+            if (updated == 0) {
+                log.warn("Job {} ({}) finished after its lease was lost; it may run again", job.id(), job.type());
+            }
+            outcome = "succeeded";
+        } catch (Exception e) {
+            // Interrupted by shutdown: left RUNNING for stop() to hand back without counting the attempt
+            outcome = interrupting ? "interrupted" : fail(job, e);
+        } finally {
+            sample.stop(Metrics.timer("lms.jobs.duration", "type", job.type()));
+        }
+        Metrics.counter("lms.jobs.executions", "type", job.type(), "outcome", outcome).increment();
+    }
+
+    private String fail(ClaimedJob job, Exception e) {
+        String error = e.toString();
+        if (error.length() > MAX_ERROR_LENGTH) {
+            error = error.substring(0, MAX_ERROR_LENGTH);
+        }
+        boolean permanent = e instanceof BadRequestException || e instanceof ResourceNotFoundException;
+        if (permanent || job.attempts() >= job.maxAttempts()) {
+            log.error("Job {} ({}) failed after {} attempt(s)", job.id(), job.type(), job.attempts(), e);
+            jdbcTemplate.update(
+                    "UPDATE jobs SET status = 'FAILED', last_error = ?, finished_at = now(), " +
+                    "locked_by = NULL, locked_until = NULL WHERE id = ? AND locked_by = ? AND status = 'RUNNING'",
+                    error, job.id(), nodeId);
+            return "failed";
+        }
+        Duration delay = retryDelay(job.attempts());
+        log.warn("Job {} ({}) failed on attempt {}, retrying in {}: {}", job.id(), job.type(), job.attempts(), delay, error);
+        jdbcTemplate.update(
+                "UPDATE jobs SET status = 'QUEUED', last_error = ?, run_at = now() + make_interval(secs => ?), " +
+                "locked_by = NULL, locked_until = NULL WHERE id = ? AND locked_by = ? AND status = 'RUNNING'",
+                error, seconds(delay), job.id(), nodeId);
+        return "retried";
+    }
+
+    /**
+     * retry-delay doubled per attempt, capped at an hour, with up to 20% jitter so jobs that
+     * failed together (e.g. during an outage) don't all come back at the same moment.
+     */
+    private Duration retryDelay(int attempt) {
+        Duration delay = retryDelay.multipliedBy(1L << Math.min(attempt - 1, 20));
+        if (delay.compareTo(MAX_RETRY_DELAY) > 0) {
+            delay = MAX_RETRY_DELAY;
+        }
+        long jitter = (long) (delay.toMillis() * 0.2 * ThreadLocalRandom.current().nextDouble());
+        return delay.plusMillis(jitter);
+    }
+
+    /**
+     * Renews the leases of the jobs this node is running, requeues jobs whose node stopped
+     * renewing, and drops finished jobs past the retention period.
+     */
+    private void maintain() {
+        try {
+            renewAndExpire();
+        } catch (RuntimeException e) {
+            // Keep the schedule alive; the next run renews well before the lease lapses
+            log.warn("Job lease renewal failed: {}", e.getMessage());
+        }
+    }
+
+    private void renewAndExpire() {
+        jdbcTemplate.update("UPDATE jobs SET locked_until = now() + make_interval(secs => ?) " +
+                "WHERE locked_by = ? AND status = 'RUNNING'", seconds(lease), nodeId);
+        int expired = jdbcTemplate.update(
+                "UPDATE jobs SET status = CASE WHEN attempts >= max_attempts THEN 'FAILED' ELSE 'QUEUED' END, " +
+                "finished_at = CASE WHEN attempts >= max_attempts THEN now() END, " +
+                "last_error = 'Lease expired: the node running the job stopped', run_at = now(), " +
+                "locked_by = NULL, locked_until = NULL WHERE status = 'RUNNING' AND locked_until < now()");
+        if (expired > 0) {
+            log.warn("Requeued {} job(s) whose lease expired", expired);
+        }
+        jdbcTemplate.update("DELETE FROM jobs WHERE status IN ('SUCCEEDED', 'CANCELLED') " +
+                "AND finished_at < now() - make_interval(secs => ?)", seconds(retention));
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static double seconds(Duration duration) {
+        return duration.toMillis() / 1000.0;
+    }
+
+    private static RowMapper<JobResponse> summaryMapper() {
+        return (rs, i) -> JobResponse.builder()
+                .id(rs.getLong("id"))
+                .type(rs.getString("type"))
+                .status(rs.getString("status"))
+                .priority(rs.getInt("priority"))
+                .attempts(rs.getInt("attempts"))
+                .maxAttempts(rs.getInt("max_attempts"))
+                .runAt(toLocalDateTime(rs.getTimestamp("run_at")))
+                .lockedBy(rs.getString("locked_by"))
+                .lastError(rs.getString("last_error"))
+                .createdAt(toLocalDateTime(rs.getTimestamp("created_at")))
+                .finishedAt(toLocalDateTime(rs.getTimestamp("finished_at")))
+                .build();
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+
+    @FunctionalInterface
+    public interface JobHandler {
+        /**
+         * @return the job's result, stored as JSON, or null
+         */
+        Object run(JsonNode payload) throws Exception;
+    }
+
+    public enum Status {
+        QUEUED, RUNNING, SUCCEEDED, FAILED, CANCELLED
+    }
+
+    private record ClaimedJob(long id, String type, String payload, int attempts, int maxAttempts) {
+    }
+}
@@ -0,0 +1,79 @@
+package com.lms.service;
+
+import com.lms.dto.response.CourseResponse;
+import com.lms.dto.response.LearningSessionResponse;
+import com.lms.dto.response.SubModuleResponse;
+import com.lms.entity.Enrollment;
+import com.lms.exception.BadRequestException;
+import com.lms.repository.EnrollmentRepository;
+import com.lms.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Everything the learning page needs on open, in one read-only transaction: the learner, the
+ * course outline, their enrollment and completed lessons, and the lesson to show first. The
+ * outline usually comes from the course tree cache; a cold load runs before the transaction
+ * opens, so the two never hold a connection each at the same time.
+ */
+@Service
+@RequiredArgsConstructor
+public class LearningSessionService {
+    private final CourseService courseService;
+    private final SubModuleService subModuleService;
+    private final UserRepository userRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final CompletionService completionService;
+    private final PlatformTransactionManager transactionManager;
+
+    /**
+     * @param email    the authenticated learner
+     * @param lessonId lesson to open; when null the learner resumes at the first lesson
+     *                 they haven't completed (or the first lesson once all are done)
+     */
+    public LearningSessionResponse getSession(String email, Long courseId, Long lessonId) {
+        CourseResponse course = courseService.getCourseById(courseId);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        return transaction.execute(status -> buildSession(email, course, lessonId));
+    }
+
+    private LearningSessionResponse buildSession(String email, CourseResponse course, Long lessonId) {
+        Long courseId = course.getId();
+        Long userId = userRepository.findByEmail(email)
+                .orElseThrow(() -> new BadRequestException("User not found"))
+                .getId();
+        Enrollment enrollment = enrollmentRepository.findByUserIdAndCourseId(userId, courseId).orElse(null);
+        List<Long> completed = completionService.completedLessons(userId, courseId);
+
+        List<Long> lessonIds = course.getModules().stream()
+                .flatMap(module -> module.getSubModules().stream())
+                .map(SubModuleResponse::getId)
+                .toList();
+        if (lessonId != null && !lessonIds.contains(lessonId)) {
+            throw new BadRequestException("Lesson does not belong to this course");
+        }
+        Long currentId = lessonId;
+        if (currentId == null && !lessonIds.isEmpty()) {
+            Long next = completionService.nextUnfinished(userId, courseId);
+            currentId = next != null ? next : lessonIds.get(0);
+        }
+
+        int total = course.getTotalSubModules();
+        return LearningSessionResponse.builder()
+                .course(course)
+                .enrolled(enrollment != null)
+                .enrollmentStatus(enrollment != null ? enrollment.getStatus().name() : null)
+                .enrolledAt(enrollment != null ? enrollment.getEnrolledAt() : null)
+                .completedSubModuleIds(completed)
+                .completedSubModules(completed.size())
+                .totalSubModules(total)
+                .progressPercentage(total > 0 ? (int) Math.round((double) completed.size() / total * 100) : 0)
+                .currentLesson(currentId != null ? subModuleService.getSubModuleById(currentId) : null)
+                .build();
+    }
+}
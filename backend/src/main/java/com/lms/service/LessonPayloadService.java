@@ -0,0 +1,80 @@
+package com.lms.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import java.util.HashSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.lms.config.ReplicaRoutingDataSource.usePrimary;
+
+/**
+ * Serialised, gzip-compressed lesson documents (GET /api/submodules/{id}). Lesson bodies are
+ * unbounded TEXT, so compression is paid once when a lesson is written instead of on every
+ * read. Entries live in the "lesson-payloads" cache (see ehcache.xml); a miss, e.g. after a
+ * restart, builds the payload once on first read.
+ */
+@Service
+public class LessonPayloadService {
+    private final SubModuleService subModuleService;
+    private final ObjectMapper objectMapper;
+    private final Cache<Long, PrecompressedJson> payloads;
+    // Bumped before every change is applied, so a read whose load overlapped one doesn't keep what it cached
+    private final AtomicLong generation = new AtomicLong();
+
+    public LessonPayloadService(SubModuleService subModuleService,
+                                ObjectMapper objectMapper,
+                                CacheManager cacheManager) {
+        this.subModuleService = subModuleService;
+        this.objectMapper = objectMapper;
+        this.payloads = cacheManager.getCache("lesson-payloads", Long.class, PrecompressedJson.class);
+    }
+
+    public PrecompressedJson get(Long subModuleId) {
+        PrecompressedJson payload = payloads.get(subModuleId);
+        if (payload == null) {
+            long loadedIn = generation.get();
+            payload = usePrimary(() -> build(subModuleId));
+            if (!payloads.putIfAbsent(subModuleId, payload)) {
+                // A concurrent write has just published a newer payload
+                PrecompressedJson published = payloads.get(subModuleId);
+                return published != null ? published : payload;
+            }
+            if (generation.get() != loadedIn) {
+                // Lessons changed while this one loaded: it may be outdated or deleted by now
+                payloads.remove(subModuleId);
+            }
+        }
+        return payload;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onLessonsChanged(LessonsChangedEvent event) {
+        generation.incrementAndGet();
+        if (event.deleted()) {
+            payloads.removeAll(new HashSet<>(event.subModuleIds()));
+            return;
+        }
+        // Runs right after the commit, before the replicas are guaranteed to have it
+        usePrimary(() -> {
+            for (Long id : event.subModuleIds()) {
+                payloads.put(id, build(id));
+            }
+        });
+    }
+
+    public void evictAll() {
+        generation.incrementAndGet();
+        payloads.clear();
+    }
+
+    private PrecompressedJson build(Long subModuleId) {
+        return PrecompressedJson.of(objectMapper, subModuleService.getSubModuleById(subModuleId), "lesson");
+    }
+}
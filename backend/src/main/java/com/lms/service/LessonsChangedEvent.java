@@ -0,0 +1,18 @@
+package com.lms.service;
+
+import java.util.List;
+
+/**
+ * Published when lessons (submodules) are created, changed or deleted, including deletes
+ * cascaded from their module or course. Listeners refresh their copy after commit.
+ */
+public record LessonsChangedEvent(List<Long> subModuleIds, boolean deleted) {
+
+    public static LessonsChangedEvent updated(Long subModuleId) {
+        return new LessonsChangedEvent(List.of(subModuleId), false);
+    }
+
+    public static LessonsChangedEvent deleted(List<Long> subModuleIds) {
+        return new LessonsChangedEvent(subModuleIds, true);
+    }
+}
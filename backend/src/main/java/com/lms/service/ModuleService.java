@@ -5,14 +5,20 @@ import com.lms.dto.response.ModuleResponse;
 import com.lms.dto.response.SubModuleResponse;
 import com.lms.entity.Course;
 import com.lms.entity.Module;
+import com.lms.entity.SubModule;
 import com.lms.exception.ResourceNotFoundException;
 import com.lms.repository.CourseRepository;
 import com.lms.repository.ModuleRepository;
+import com.lms.repository.SubModuleContent;
+import com.lms.repository.SubModuleRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -20,11 +26,14 @@ import java.util.stream.Collectors;
 public class ModuleService {
     private final ModuleRepository moduleRepository;
     private final CourseRepository courseRepository;
+    private final SubModuleRepository subModuleRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional(readOnly = true)
     public List<ModuleResponse> getModulesByCourse(Long courseId) {
+        Map<Long, SubModuleContent> content = contentById(subModuleRepository.findContentByCourseId(courseId));
         return moduleRepository.findByCourseIdOrderByOrderIndexAsc(courseId).stream()
-                .map(this::mapToDetailedResponse)
+                .map(module -> mapToDetailedResponse(module, content))
                 .collect(Collectors.toList());
     }
 
@@ -32,7 +41,7 @@ public class ModuleService {
     public ModuleResponse getModuleById(Long id) {
         Module module = moduleRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Module not found"));
-        return mapToDetailedResponse(module);
+        return mapToDetailedResponse(module, contentById(subModuleRepository.findContentByModuleId(id)));
     }
 
     @Transactional
@@ -47,6 +56,7 @@ public class ModuleService {
                 .build();
 
         module = moduleRepository.save(module);
+        eventPublisher.publishEvent(new CourseChangedEvent(courseId));
         return mapToResponse(module);
     }
 
@@ -59,15 +69,20 @@ public class ModuleService {
         module.setOrderIndex(request.getOrderIndex());
 
         module = moduleRepository.save(module);
+        eventPublisher.publishEvent(new CourseChangedEvent(module.getCourse().getId()));
         return mapToResponse(module);
     }
 
     @Transactional
     public void deleteModule(Long id) {
-        if (!moduleRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Module not found");
-        }
-        moduleRepository.deleteById(id);
+        Module module = moduleRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Module not found"));
+        Course course = module.getCourse();
+        List<Long> subModuleIds = module.getSubModules().stream().map(SubModule::getId).toList();
+        course.getModules().remove(module);
+        moduleRepository.delete(module);
+        eventPublisher.publishEvent(new CourseChangedEvent(course.getId()));
+        eventPublisher.publishEvent(LessonsChangedEvent.deleted(subModuleIds));
     }
 
     private ModuleResponse mapToResponse(Module module) {
@@ -81,20 +96,27 @@ public class ModuleService {
                 .build();
     }
 
-    private ModuleResponse mapToDetailedResponse(Module module) {
+    private Map<Long, SubModuleContent> contentById(List<SubModuleContent> content) {
+        return content.stream().collect(Collectors.toMap(SubModuleContent::id, Function.identity()));
+    }
+
+    private ModuleResponse mapToDetailedResponse(Module module, Map<Long, SubModuleContent> content) {
         java.util.List<com.lms.entity.SubModule> moduleSubModules = module.getSubModules() != null ? module.getSubModules() : java.util.Collections.emptyList();
         
         List<SubModuleResponse> subModules = moduleSubModules.stream()
-                .map(sm -> SubModuleResponse.builder()
+                .map(sm -> {
+                    SubModuleContent smContent = content.get(sm.getId());
+                    return SubModuleResponse.builder()
                         .id(sm.getId())
                         .title(sm.getTitle())
                         .orderIndex(sm.getOrderIndex())
                         .moduleId(module.getId())
-                        .introContent(sm.getIntroContent())
-                        .bodyContent(sm.getBodyContent())
-                        .summaryContent(sm.getSummaryContent())
+                        .introContent(smContent != null ? smContent.introContent() : null)
+                        .bodyContent(smContent != null ? smContent.bodyContent() : null)
+                        .summaryContent(smContent != null ? smContent.summaryContent() : null)
                         .videoUrl(sm.getVideoUrl())
-                        .build())
+                        .build();
+                })
                 .collect(Collectors.toList());
 
         return ModuleResponse.builder()
@@ -0,0 +1,46 @@
+package com.lms.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.util.DigestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A JSON document serialised and gzip-compressed once, so it can be written to any number
+ * of responses as a plain byte copy. Build time is recorded as lms.payload.build.
+ *
+ * @param etag strong ETag derived from the JSON bytes, stable across restarts and nodes
+ * @param gzip gzip-compressed JSON, or null when compression doesn't make it smaller
+ */
+public record PrecompressedJson(String etag, byte[] json, byte[] gzip) {
+
+    public static PrecompressedJson of(ObjectMapper objectMapper, Object value, String payload) {
+        Timer.Sample sample = Timer.start();
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialise " + payload + " payload", e);
+        }
+        byte[] gzip = gzip(json);
+        sample.stop(Metrics.timer("lms.payload.build", "payload", payload));
+        return new PrecompressedJson("\"" + DigestUtils.md5DigestAsHex(json) + "\"", json,
+                gzip.length < json.length ? gzip : null);
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream(Math.max(64, json.length / 4));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(output)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return output.toByteArray();
+    }
+}
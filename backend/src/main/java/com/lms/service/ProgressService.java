@@ -1,44 +1,87 @@
 package com.lms.service;
 
+import com.lms.dto.response.ProgressPageResponse;
 import com.lms.dto.response.ProgressResponse;
 import com.lms.entity.Progress;
 import com.lms.entity.SubModule;
 import com.lms.entity.User;
+import com.lms.exception.BadRequestException;
 import com.lms.exception.ResourceNotFoundException;
 import com.lms.repository.ProgressRepository;
 import com.lms.repository.SubModuleRepository;
 import com.lms.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class ProgressService {
+    private static final int MAX_PAGE_SIZE = 1000;
+
     private final ProgressRepository progressRepository;
     private final UserRepository userRepository;
     private final SubModuleRepository subModuleRepository;
+    private final CompletionService completionService;
+
+    /**
+     * One page of the learner's progress, newest completion first, using keyset pagination
+     * on (completedAt, id). Completed rows are a range seek on idx_progress_user_completed_at
+     * starting at the cursor; rows never completed sort last and are paged by id on their own,
+     * so a page that straddles the two runs one query for each side.
+     */
+    @Transactional(readOnly = true)
+    public ProgressPageResponse getUserProgress(Long userId, String cursor, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        // One extra row tells whether there is a next page
+        Limit fetch = Limit.of(pageSize + 1);
 
-    public List<ProgressResponse> getUserProgress(Long userId) {
-        return progressRepository.findByUserId(userId).stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        List<ProgressResponse> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = progressRepository.findResponsesByUserId(userId, fetch);
+        } else {
+            Cursor after = Cursor.decode(cursor);
+            if (after.completedAt() == null) {
+                rows = progressRepository.findResponsesByUserIdAfterIncomplete(userId, after.id(), fetch);
+            } else {
+                rows = progressRepository.findResponsesByUserIdAfter(userId, after.completedAt(), after.id(), fetch);
+                if (rows.size() < fetch.max()) {
+                    // Completed rows ran out mid-page: the rest comes from the start of the incomplete ones
+                    rows = new ArrayList<>(rows);
+                    rows.addAll(progressRepository.findIncompleteResponsesByUserId(userId,
+                            Limit.of(fetch.max() - rows.size())));
+                }
+            }
+        }
+
+        String nextCursor = null;
+        if (rows.size() > pageSize) {
+            rows = rows.subList(0, pageSize);
+            ProgressResponse last = rows.get(pageSize - 1);
+            nextCursor = new Cursor(last.getCompletedAt(), last.getId()).encode();
+        }
+        return ProgressPageResponse.builder()
+                .items(rows)
+                .nextCursor(nextCursor)
+                .build();
     }
 
+    @Transactional(readOnly = true)
     public List<ProgressResponse> getCourseProgress(Long userId, Long courseId) {
-        return progressRepository.findByUserIdAndCourseId(userId, courseId).stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        return progressRepository.findResponsesByUserIdAndCourseId(userId, courseId);
     }
 
+    @Transactional(readOnly = true)
     public Optional<ProgressResponse> getSubModuleProgress(Long userId, Long subModuleId) {
-        return progressRepository.findByUserIdAndSubModuleId(userId, subModuleId)
-                .map(this::mapToResponse);
+        return progressRepository.findResponseByUserIdAndSubModuleId(userId, subModuleId);
     }
 
     @Transactional
@@ -59,6 +102,7 @@ public class ProgressService {
         progress.setCompletedAt(LocalDateTime.now());
 
         progress = progressRepository.save(progress);
+        completionService.record(userId, subModule.getModule().getCourse().getId(), subModuleId, true);
         return mapToResponse(progress);
     }
 
@@ -71,6 +115,7 @@ public class ProgressService {
         progress.setCompletedAt(null);
 
         progress = progressRepository.save(progress);
+        completionService.record(userId, progress.getSubModule().getModule().getCourse().getId(), subModuleId, false);
         return mapToResponse(progress);
     }
 
@@ -84,4 +129,26 @@ public class ProgressService {
                 .completedAt(progress.getCompletedAt())
                 .build();
     }
+
+    /**
+     * Position after the last row of a page. Encoded opaquely so clients just pass it back.
+     */
+    private record Cursor(LocalDateTime completedAt, Long id) {
+
+        String encode() {
+            String raw = (completedAt != null ? completedAt.toString() : "") + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Cursor decode(String cursor) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = raw.indexOf('|');
+                LocalDateTime completedAt = separator > 0 ? LocalDateTime.parse(raw.substring(0, separator)) : null;
+                return new Cursor(completedAt, Long.parseLong(raw.substring(separator + 1)));
+            } catch (RuntimeException e) {
+                throw new BadRequestException("Invalid cursor");
+            }
+        }
+    }
 }
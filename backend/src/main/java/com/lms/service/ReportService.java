@@ -0,0 +1,106 @@
+package com.lms.service;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * CSV exports for analytics. Rows are read through a forward-only cursor and written
+ * straight to the response, so memory stays flat no matter how many rows there are.
+ */
+@Service
+public class ReportService {
+    private static final int FETCH_SIZE = 1000;
+
+    private static final String PROGRESS_SQL =
+            "SELECT p.id, p.user_id, u.name, u.email, c.id, c.title, p.sub_module_id, sm.title, " +
+            "p.completed, p.completed_at " +
+            "FROM progress p " +
+            "JOIN users u ON u.id = p.user_id " +
+            "JOIN sub_modules sm ON sm.id = p.sub_module_id " +
+            "JOIN modules m ON m.id = sm.module_id " +
+            "JOIN courses c ON c.id = m.course_id";
+
+    private static final String ENROLLMENTS_SQL =
+            "SELECT e.id, e.user_id, u.name, u.email, e.course_id, c.title, e.status, e.enrolled_at " +
+            "FROM enrollments e " +
+            "JOIN users u ON u.id = e.user_id " +
+            "JOIN courses c ON c.id = e.course_id";
+
+    private final JdbcTemplate cursorJdbcTemplate;
+
+    public ReportService(JdbcTemplate jdbcTemplate) {
+        // The Postgres driver only uses a server-side cursor when a fetch size is set inside a transaction
+        this.cursorJdbcTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        this.cursorJdbcTemplate.setFetchSize(FETCH_SIZE);
+    }
+
+    @Transactional(readOnly = true)
+    public void exportProgress(OutputStream output) throws IOException {
+        export(output, PROGRESS_SQL,
+                "progress_id,user_id,user_name,user_email,course_id,course_title,sub_module_id,sub_module_title,completed,completed_at");
+    }
+
+    @Transactional(readOnly = true)
+    public void exportEnrollments(OutputStream output) throws IOException {
+        export(output, ENROLLMENTS_SQL,
+                "enrollment_id,user_id,user_name,user_email,course_id,course_title,status,enrolled_at");
+    }
+
+    private void export(OutputStream output, String sql, String header) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8), 64 * 1024);
+        writer.write(header);
+        writer.write('\n');
+        try {
+            cursorJdbcTemplate.query(sql, rs -> {
+                try {
+                    writeRow(writer, rs);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+    }
+
+    private void writeRow(Writer writer, ResultSet rs) throws IOException, SQLException {
+        int columns = rs.getMetaData().getColumnCount();
+        for (int i = 1; i <= columns; i++) {
+            if (i > 1) {
+                writer.write(',');
+            }
+            String value = rs.getString(i);
+            if (value != null) {
+                writeCsvValue(writer, value);
+            }
+        }
+        writer.write('\n');
+    }
+
+    private void writeCsvValue(Writer writer, String value) throws IOException {
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
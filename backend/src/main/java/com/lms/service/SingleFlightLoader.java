@@ -0,0 +1,198 @@
+package com.lms.service;
+
+import com.lms.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Caches loaded values per key and makes sure only one thread loads a given key at a time:
+ * concurrent callers wait for the loading thread's result instead of repeating the work.
+ *
+ * A value is served as is while fresh. Once stale it is still served, for up to the stale
+ * window, while a single background load replaces it; after that callers load again. Callers
+ * waiting on another thread's load give up after the wait timeout and get the stale value if
+ * there is one, or a {@link ServiceUnavailableException}. Failed loads are not cached.
+ *
+ * Values past the stale window are swept out at most once per fresh window. Background
+ * loads run on a small bounded pool; when it is saturated the stale value is served a while
+ * longer instead. The owner must {@link #close()} the loader when it is done with it.
+ *
+ * Every call is counted as lms.singleflight.requests by outcome (fresh, stale, loaded,
+ * coalesced, timeout) and loads are timed as lms.singleflight.load.
+ */
+public class SingleFlightLoader<K, V> implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(SingleFlightLoader.class);
+    private static final int REFRESH_THREADS = 4;
+    private static final int REFRESH_QUEUE = 256;
+
+    private final String name;
+    private final long freshNanos;
+    private final long staleNanos;
+    private final Duration waitTimeout;
+    private final Map<K, Loaded<V>> values = new ConcurrentHashMap<>();
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final ExecutorService refresher;
+    private final AtomicLong nextSweepAt;
+
+    public SingleFlightLoader(String name, Duration freshFor, Duration staleFor, Duration waitTimeout) {
+        this.name = name;
+        this.freshNanos = freshFor.toNanos();
+        this.staleNanos = staleFor.toNanos();
+        this.waitTimeout = waitTimeout;
+        // At most one background load per key; keys beyond what the pool and queue hold stay stale
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(REFRESH_THREADS, REFRESH_THREADS, 30, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(REFRESH_QUEUE), runnable -> {
+                    Thread thread = new Thread(runnable, name + "-refresh");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        pool.allowCoreThreadTimeOut(true);
+        this.refresher = pool;
+        this.nextSweepAt = new AtomicLong(System.nanoTime() + freshNanos);
+    }
+
+    /**
+     * Returns the cached value or loads it with {@code loader}. Values are shared between
+     * callers and must not be modified.
+     */
+    public V get(K key, Function<K, V> loader) {
+        long now = System.nanoTime();
+        sweepExpired(now);
+        Loaded<V> loaded = values.get(key);
+        if (loaded != null) {
+            long age = now - loaded.at();
+            if (age < freshNanos) {
+                count("fresh");
+                return loaded.value();
+            }
+            if (age < freshNanos + staleNanos) {
+                count("stale");
+                refreshInBackground(key, loader, loaded.value());
+                return loaded.value();
+            }
+        }
+
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> leader = inFlight.putIfAbsent(key, flight);
+        if (leader == null) {
+            count("loaded");
+            return load(key, loader, flight);
+        }
+        count("coalesced");
+        return await(leader, loaded);
+    }
+
+    /**
+     * Drops the cached value; a load already in flight still answers its waiters but isn't cached.
+     */
+    public void invalidate(K key) {
+        inFlight.compute(key, (k, flight) -> {
+            values.remove(k);
+            return null;
+        });
+    }
+
+    private V load(K key, Function<K, V> loader, CompletableFuture<V> flight) {
+        Timer.Sample sample = Timer.start();
+        try {
+            V value = loader.apply(key);
+            // Cache only if no invalidation replaced this flight in the meantime
+            inFlight.computeIfPresent(key, (k, current) -> {
+                if (current != flight) {
+                    return current;
+                }
+                values.put(k, new Loaded<>(value, System.nanoTime()));
+                return null;
+            });
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            inFlight.remove(key, flight);
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            sample.stop(Metrics.timer("lms.singleflight.load", "loader", name));
+        }
+    }
+
+    @Override
+    public void close() {
+        refresher.shutdownNow();
+    }
+
+    private void refreshInBackground(K key, Function<K, V> loader, V stale) {
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        if (inFlight.putIfAbsent(key, flight) != null) {
+            return;
+        }
+        try {
+            refresher.execute(() -> {
+                try {
+                    load(key, loader, flight);
+                } catch (RuntimeException e) {
+                    // Keep serving the stale value until it runs out
+                    log.warn("Background refresh of {} {} failed: {}", name, key, e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Saturated or closed: a later caller retries, and anyone who joined this flight gets the stale value
+            inFlight.remove(key, flight);
+            flight.complete(stale);
+        }
+    }
+
+    private void sweepExpired(long now) {
+        long due = nextSweepAt.get();
+        if (now - due < 0 || !nextSweepAt.compareAndSet(due, now + freshNanos)) {
+            return;
+        }
+        // Conditional per entry, so a value reloaded while sweeping is kept
+        values.values().removeIf(loaded -> now - loaded.at() >= freshNanos + staleNanos);
+    }
+
+    private V await(CompletableFuture<V> leader, Loaded<V> stale) {
+        try {
+            return leader.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            count("timeout");
+            if (stale != null) {
+                return stale.value();
+            }
+            throw new ServiceUnavailableException("Timed out waiting for " + name + " to load");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Interrupted while waiting for " + name + " to load");
+        }
+    }
+
+    private void count(String outcome) {
+        Metrics.counter("lms.singleflight.requests", "loader", name, "outcome", outcome).increment();
+    }
+
+    private record Loaded<V>(V value, long at) {
+    }
+}
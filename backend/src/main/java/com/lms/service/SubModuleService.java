@@ -7,13 +7,20 @@ import com.lms.entity.McqQuestion;
 import com.lms.entity.Module;
 import com.lms.entity.SubModule;
 import com.lms.exception.ResourceNotFoundException;
+import com.lms.repository.CodingQuestionRepository;
+import com.lms.repository.McqQuestionRepository;
 import com.lms.repository.ModuleRepository;
+import com.lms.repository.SubModuleContent;
+import com.lms.repository.SubModuleDetail;
 import com.lms.repository.SubModuleRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -21,15 +28,23 @@ import java.util.stream.Collectors;
 public class SubModuleService {
     private final SubModuleRepository subModuleRepository;
     private final ModuleRepository moduleRepository;
+    private final McqQuestionRepository mcqQuestionRepository;
+    private final CodingQuestionRepository codingQuestionRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
+    @Transactional(readOnly = true)
     public List<SubModuleResponse> getSubModulesByModule(Long moduleId) {
+        Map<Long, SubModuleContent> content = subModuleRepository.findContentByModuleId(moduleId).stream()
+                .collect(Collectors.toMap(SubModuleContent::id, Function.identity()));
         return subModuleRepository.findByModuleIdOrderByOrderIndexAsc(moduleId).stream()
-                .map(this::mapToResponse)
+                .map(subModule -> mapToResponse(subModule, content.get(subModule.getId())))
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public SubModuleResponse getSubModuleById(Long id) {
-        SubModule subModule = subModuleRepository.findById(id)
+        // Header, content and questions in three flat queries, however many questions the lesson has
+        SubModuleDetail subModule = subModuleRepository.findDetailById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("SubModule not found"));
         return mapToDetailedResponse(subModule);
     }
@@ -79,7 +94,11 @@ public class SubModuleService {
             }
         }
 
+        // Keep the cached Module.subModules collection in step with the new row
+        module.getSubModules().add(subModule);
         subModule = subModuleRepository.save(subModule);
+        eventPublisher.publishEvent(new CourseChangedEvent(module.getCourse().getId()));
+        eventPublisher.publishEvent(LessonsChangedEvent.updated(subModule.getId()));
         return mapToResponse(subModule);
     }
 
@@ -96,15 +115,33 @@ public class SubModuleService {
         subModule.setVideoUrl(request.getVideoUrl());
 
         subModule = subModuleRepository.save(subModule);
+        eventPublisher.publishEvent(new CourseChangedEvent(subModule.getModule().getCourse().getId()));
+        // Re-serialises and compresses the lesson once, after commit, for all later reads
+        eventPublisher.publishEvent(LessonsChangedEvent.updated(id));
         return mapToResponse(subModule);
     }
 
     @Transactional
     public void deleteSubModule(Long id) {
-        if (!subModuleRepository.existsById(id)) {
-            throw new ResourceNotFoundException("SubModule not found");
-        }
-        subModuleRepository.deleteById(id);
+        SubModule subModule = subModuleRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("SubModule not found"));
+        subModule.getModule().getSubModules().remove(subModule);
+        subModuleRepository.delete(subModule);
+        eventPublisher.publishEvent(new CourseChangedEvent(subModule.getModule().getCourse().getId()));
+        eventPublisher.publishEvent(LessonsChangedEvent.deleted(List.of(id)));
+    }
+
+    private SubModuleResponse mapToResponse(SubModule subModule, SubModuleContent content) {
+        return SubModuleResponse.builder()
+                .id(subModule.getId())
+                .title(subModule.getTitle())
+                .orderIndex(subModule.getOrderIndex())
+                .moduleId(subModule.getModule().getId())
+                .introContent(content != null ? content.introContent() : null)
+                .bodyContent(content != null ? content.bodyContent() : null)
+                .summaryContent(content != null ? content.summaryContent() : null)
+                .videoUrl(subModule.getVideoUrl())
+                .build();
     }
 
     private SubModuleResponse mapToResponse(SubModule subModule) {
@@ -120,8 +157,9 @@ public class SubModuleService {
                 .build();
     }
 
-    private SubModuleResponse mapToDetailedResponse(SubModule subModule) {
-        List<SubModuleResponse.McqQuestionResponse> mcqs = subModule.getMcqQuestions().stream()
+    private SubModuleResponse mapToDetailedResponse(SubModuleDetail subModule) {
+        List<SubModuleResponse.McqQuestionResponse> mcqs = mcqQuestionRepository
+                .findBySubModuleIdOrderByOrderIndexAsc(subModule.id()).stream()
                 .map(mcq -> SubModuleResponse.McqQuestionResponse.builder()
                         .id(mcq.getId())
                         .question(mcq.getQuestion())
@@ -133,25 +171,26 @@ public class SubModuleService {
                         .build())
                 .collect(Collectors.toList());
 
-        List<SubModuleResponse.CodingQuestionResponse> codes = subModule.getCodingQuestions().stream()
+        List<SubModuleResponse.CodingQuestionResponse> codes = codingQuestionRepository
+                .findContentBySubModuleId(subModule.id()).stream()
                 .map(code -> SubModuleResponse.CodingQuestionResponse.builder()
-                        .id(code.getId())
-                        .question(code.getQuestion())
-                        .starterCode(code.getStarterCode())
-                        .hint(code.getHint())
-                        .orderIndex(code.getOrderIndex())
+                        .id(code.id())
+                        .question(code.question())
+                        .starterCode(code.starterCode())
+                        .hint(code.hint())
+                        .orderIndex(code.orderIndex())
                         .build())
                 .collect(Collectors.toList());
 
         return SubModuleResponse.builder()
-                .id(subModule.getId())
-                .title(subModule.getTitle())
-                .orderIndex(subModule.getOrderIndex())
-                .moduleId(subModule.getModule().getId())
-                .introContent(subModule.getIntroContent())
-                .bodyContent(subModule.getBodyContent())
-                .summaryContent(subModule.getSummaryContent())
-                .videoUrl(subModule.getVideoUrl())
+                .id(subModule.id())
+                .title(subModule.title())
+                .orderIndex(subModule.orderIndex())
+                .moduleId(subModule.moduleId())
+                .introContent(subModule.introContent())
+                .bodyContent(subModule.bodyContent())
+                .summaryContent(subModule.summaryContent())
+                .videoUrl(subModule.videoUrl())
                 .mcqQuestions(mcqs)
                 .codingQuestions(codes)
                 .build();
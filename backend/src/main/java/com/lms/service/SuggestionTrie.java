@@ -0,0 +1,205 @@
+package com.lms.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Compact prefix trie used for catalog typeahead. Children are kept in sorted
+ * parallel arrays instead of maps, so a node costs two small arrays and lookups
+ * are a binary search per character.
+ *
+ * Not thread-safe; callers guard it with their own lock.
+ */
+public class SuggestionTrie<V> {
+
+    private final Node<V> root = new Node<>();
+    private int size;
+
+    public static String normalize(String text) {
+        return text == null ? "" : text.trim().toLowerCase(Locale.ROOT);
+    }
+
+    public void insert(String key, V value) {
+        String normalized = normalize(key);
+        if (normalized.isEmpty()) {
+            return;
+        }
+        Node<V> node = root;
+        for (int i = 0; i < normalized.length(); i++) {
+            node = node.childOrCreate(normalized.charAt(i));
+        }
+        node.addValue(value);
+        size++;
+    }
+
+    public boolean remove(String key, V value) {
+        String normalized = normalize(key);
+        if (normalized.isEmpty()) {
+            return false;
+        }
+        Node<V>[] path = newNodes(normalized.length() + 1);
+        path[0] = root;
+        Node<V> node = root;
+        for (int i = 0; i < normalized.length(); i++) {
+            node = node.child(normalized.charAt(i));
+            if (node == null) {
+                return false;
+            }
+            path[i + 1] = node;
+        }
+        if (!node.removeValue(value)) {
+            return false;
+        }
+        size--;
+        // Prune branches that no longer lead to any value
+        for (int i = normalized.length(); i > 0 && path[i].isEmpty(); i--) {
+            path[i - 1].removeChild(normalized.charAt(i - 1));
+        }
+        return true;
+    }
+
+    /**
+     * Collects up to {@code limit} values whose key starts with {@code prefix},
+     * shortest keys first within each branch (depth-first, children in char order).
+     */
+    public List<V> search(String prefix, int limit) {
+        List<V> results = new ArrayList<>(Math.min(limit, 16));
+        String normalized = normalize(prefix);
+        if (normalized.isEmpty() || limit <= 0) {
+            return results;
+        }
+        Node<V> node = root;
+        for (int i = 0; i < normalized.length() && node != null; i++) {
+            node = node.child(normalized.charAt(i));
+        }
+        if (node != null) {
+            collect(node, results, limit);
+        }
+        return results;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        root.keys = Node.NO_KEYS;
+        root.children = null;
+        root.values = null;
+        size = 0;
+    }
+
+    private void collect(Node<V> node, List<V> results, int limit) {
+        if (node.values != null) {
+            for (Object value : node.values) {
+                if (results.size() >= limit) {
+                    return;
+                }
+                @SuppressWarnings("unchecked")
+                V typed = (V) value;
+                results.add(typed);
+            }
+        }
+        for (int i = 0; i < node.keys.length && results.size() < limit; i++) {
+            collect(node.children[i], results, limit);
+        }
+    }
+
+    // Generic arrays can't be created directly; this is the one unchecked cast they need
+    @SuppressWarnings("unchecked")
+    private static <V> Node<V>[] newNodes(int length) {
+        return (Node<V>[]) new Node<?>[length];
+    }
+
+    private static final class Node<V> {
+        private static final char[] NO_KEYS = new char[0];
+
+        private char[] keys = NO_KEYS;
+        private Node<V>[] children;
+        private Object[] values;
+
+        Node<V> child(char c) {
+            int idx = Arrays.binarySearch(keys, c);
+            return idx >= 0 ? children[idx] : null;
+        }
+
+        Node<V> childOrCreate(char c) {
+            int idx = Arrays.binarySearch(keys, c);
+            if (idx >= 0) {
+                return children[idx];
+            }
+            int insertAt = -idx - 1;
+            int n = keys.length;
+            char[] newKeys = new char[n + 1];
+            Node<V>[] newChildren = newNodes(n + 1);
+            System.arraycopy(keys, 0, newKeys, 0, insertAt);
+            System.arraycopy(keys, insertAt, newKeys, insertAt + 1, n - insertAt);
+            if (children != null) {
+                System.arraycopy(children, 0, newChildren, 0, insertAt);
+                System.arraycopy(children, insertAt, newChildren, insertAt + 1, n - insertAt);
+            }
+            Node<V> created = new Node<>();
+            newKeys[insertAt] = c;
+            newChildren[insertAt] = created;
+            keys = newKeys;
+            children = newChildren;
+            return created;
+        }
+
+        void removeChild(char c) {
+            int idx = Arrays.binarySearch(keys, c);
+            if (idx < 0) {
+                return;
+            }
+            int n = keys.length;
+            if (n == 1) {
+                keys = NO_KEYS;
+                children = null;
+                return;
+            }
+            char[] newKeys = new char[n - 1];
+            Node<V>[] newChildren = newNodes(n - 1);
+            System.arraycopy(keys, 0, newKeys, 0, idx);
+            System.arraycopy(keys, idx + 1, newKeys, idx, n - idx - 1);
+            System.arraycopy(children, 0, newChildren, 0, idx);
+            System.arraycopy(children, idx + 1, newChildren, idx, n - idx - 1);
+            keys = newKeys;
+            children = newChildren;
+        }
+
+        void addValue(V value) {
+            if (values == null) {
+                values = new Object[]{value};
+                return;
+            }
+            values = Arrays.copyOf(values, values.length + 1);
+            values[values.length - 1] = value;
+        }
+
+        boolean removeValue(V value) {
+            if (values == null) {
+                return false;
+            }
+            for (int i = 0; i < values.length; i++) {
+                if (values[i].equals(value)) {
+                    if (values.length == 1) {
+                        values = null;
+                    } else {
+                        Object[] newValues = new Object[values.length - 1];
+                        System.arraycopy(values, 0, newValues, 0, i);
+                        System.arraycopy(values, i + 1, newValues, i, values.length - i - 1);
+                        values = newValues;
+                    }
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        boolean isEmpty() {
+            return values == null && keys.length == 0;
+        }
+    }
+}
@@ -0,0 +1,247 @@
+package com.lms.service;
+
+import com.lms.dto.request.UserImportRequest;
+import com.lms.dto.response.UserImportResponse;
+import com.lms.entity.User;
+import com.lms.exception.BadRequestException;
+import com.lms.repository.SequenceIdAllocator;
+import com.lms.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk user import for admins. Emails are checked against the database in set-based
+ * queries, BCrypt hashing is spread over a pool sized to the available cores, and
+ * users are inserted in JDBC batches. Each chunk commits on its own, so a large
+ * import keeps what it has already written if a later chunk fails.
+ */
+@Service
+public class UserProvisioningService {
+    private static final Logger log = LoggerFactory.getLogger(UserProvisioningService.class);
+    private static final int CHUNK_SIZE = 1000;
+    private static final int MAX_USERS = 200_000;
+
+    private final UserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final SequenceIdAllocator idAllocator;
+    private final JdbcTemplate jdbcTemplate;
+    private final ForkJoinPool hashingPool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+
+    public UserProvisioningService(UserRepository userRepository,
+                                   PasswordEncoder passwordEncoder,
+                                   SequenceIdAllocator idAllocator,
+                                   JdbcTemplate jdbcTemplate) {
+        this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.idAllocator = idAllocator;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hashingPool.shutdown();
+    }
+
+    /**
+     * Reads CSV with a header row containing at least name, email and password (role optional).
+     */
+    public UserImportResponse importCsv(Reader input) throws IOException {
+        BufferedReader reader = new BufferedReader(input);
+        String headerLine = reader.readLine();
+        if (headerLine == null) {
+            throw new BadRequestException("CSV is empty");
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        List<String> header = parseCsvLine(headerLine);
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        if (!columns.containsKey("name") || !columns.containsKey("email") || !columns.containsKey("password")) {
+            throw new BadRequestException("CSV header must contain name, email and password");
+        }
+
+        List<UserImportRequest> users = new ArrayList<>();
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            List<String> values = parseCsvLine(line);
+            String role = column(values, columns.get("role"));
+            users.add(new UserImportRequest(
+                    column(values, columns.get("name")),
+                    column(values, columns.get("email")),
+                    column(values, columns.get("password")),
+                    parseRole(role)));
+        }
+        return importUsers(users);
+    }
+
+    public UserImportResponse importUsers(List<UserImportRequest> users) {
+        if (users.size() > MAX_USERS) {
+            throw new BadRequestException("At most " + MAX_USERS + " users can be imported per request");
+        }
+        long started = System.currentTimeMillis();
+        List<UserImportResponse.Result> results = new ArrayList<>(users.size());
+        int created = 0, alreadyExists = 0, invalid = 0;
+        Set<String> seenEmails = new HashSet<>();
+
+        for (int from = 0; from < users.size(); from += CHUNK_SIZE) {
+            List<UserImportRequest> chunk = users.subList(from, Math.min(from + CHUNK_SIZE, users.size()));
+
+            Set<String> existing = new HashSet<>(userRepository.findExistingEmails(
+                    chunk.stream().map(UserImportRequest::getEmail).filter(Objects::nonNull).collect(Collectors.toSet())));
+
+            List<UserImportRequest> accepted = new ArrayList<>();
+            List<Integer> acceptedRows = new ArrayList<>();
+            for (int i = 0; i < chunk.size(); i++) {
+                UserImportRequest user = chunk.get(i);
+                int row = from + i + 1;
+                String problem = validate(user);
+                if (problem != null) {
+                    results.add(result(row, user.getEmail(), null, UserImportResponse.Status.INVALID, problem));
+                    invalid++;
+                } else if (existing.contains(user.getEmail()) || !seenEmails.add(user.getEmail())) {
+                    results.add(result(row, user.getEmail(), null, UserImportResponse.Status.ALREADY_EXISTS, null));
+                    alreadyExists++;
+                } else {
+                    accepted.add(user);
+                    acceptedRows.add(row);
+                }
+            }
+
+            List<String> hashes = hashingPool.submit(() -> accepted.parallelStream()
+                    .map(user -> passwordEncoder.encode(user.getPassword()))
+                    .collect(Collectors.toList())).join();
+
+            long[] ids = idAllocator.allocate("users", accepted.size());
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            List<Object[]> rows = new ArrayList<>(accepted.size());
+            for (int i = 0; i < accepted.size(); i++) {
+                UserImportRequest user = accepted.get(i);
+                User.Role role = user.getRole() != null ? user.getRole() : User.Role.LEARNER;
+                rows.add(new Object[]{ids[i], user.getName(), user.getEmail(), hashes.get(i), role.name(), now, now});
+            }
+            int[] counts = rows.isEmpty() ? new int[0] : jdbcTemplate.batchUpdate(
+                    "INSERT INTO users (id, name, email, password, role, created_at, updated_at) " +
+                            "VALUES (?, ?, ?, ?, ?, ?, ?) ON CONFLICT (email) DO NOTHING",
+                    rows);
+            for (int i = 0; i < counts.length; i++) {
+                UserImportRequest user = accepted.get(i);
+                if (counts[i] > 0) {
+                    results.add(result(acceptedRows.get(i), user.getEmail(), ids[i], UserImportResponse.Status.CREATED, null));
+                    created++;
+                } else {
+                    // Registered concurrently between the existence check and the insert
+                    results.add(result(acceptedRows.get(i), user.getEmail(), null, UserImportResponse.Status.ALREADY_EXISTS, null));
+                    alreadyExists++;
+                }
+            }
+
+            log.info("User import progress: {}/{} processed ({} created)",
+                    Math.min(from + CHUNK_SIZE, users.size()), users.size(), created);
+        }
+
+        results.sort((a, b) -> Integer.compare(a.getRow(), b.getRow()));
+        log.info("User import finished: {} created, {} already existed, {} invalid in {} ms",
+                created, alreadyExists, invalid, System.currentTimeMillis() - started);
+        return UserImportResponse.builder()
+                .created(created)
+                .alreadyExists(alreadyExists)
+                .invalid(invalid)
+                .durationMillis(System.currentTimeMillis() - started)
+                .results(results)
+                .build();
+    }
+
+    private String validate(UserImportRequest user) {
+        if (user.getName() == null || user.getName().isBlank()) {
+            return "Name is required";
+        }
+        if (user.getEmail() == null || user.getEmail().isBlank() || !user.getEmail().contains("@")) {
+            return "Invalid email format";
+        }
+        if (user.getPassword() == null || user.getPassword().length() < 6) {
+            return "Password must be at least 6 characters";
+        }
+        return null;
+    }
+
+    private UserImportResponse.Result result(int row, String email, Long userId,
+                                             UserImportResponse.Status status, String message) {
+        return UserImportResponse.Result.builder()
+                .row(row)
+                .email(email)
+                .userId(userId)
+                .status(status)
+                .message(message)
+                .build();
+    }
+
+    private User.Role parseRole(String role) {
+        if (role == null || role.isBlank()) {
+            return null;
+        }
+        try {
+            return User.Role.valueOf(role.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Unknown role: " + role);
+        }
+    }
+
+    private String column(List<String> values, Integer index) {
+        if (index == null || index >= values.size()) {
+            return null;
+        }
+        String value = values.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private List<String> parseCsvLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        values.add(current.toString());
+        return values;
+    }
+}
@@ -0,0 +1,110 @@
+package com.lms.config;
+
+import com.lms.entity.Course;
+import com.lms.entity.Module;
+import com.lms.entity.SubModule;
+import com.lms.repository.CourseRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false"
+})
+@Import(SqlStatementCounter.class)
+@ExtendWith(OutputCaptureExtension.class)
+class SqlStatementCountFilterTest {
+    private static final int MODULES = 3;
+
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private CourseRepository courseRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private Long courseId;
+
+    @BeforeEach
+    void createCourse() {
+        Course course = Course.builder().title("Course").published(true).build();
+        entityManager.persist(course);
+        for (int i = 0; i < MODULES; i++) {
+            Module module = Module.builder().title("Module " + i).orderIndex(i).course(course).build();
+            entityManager.persist(module);
+            entityManager.persist(SubModule.builder().title("Lesson " + i).orderIndex(0).module(module).build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+        courseId = course.getId();
+    }
+
+    @Test
+    void countsStatementsByShape() {
+        SqlStatementCounter.Stats stats = SqlStatements.capture(this::walkCourseTree);
+
+        // The course, its modules, then one lazy load of lessons per module
+        assertThat(stats.getTotal()).isEqualTo(2 + MODULES);
+        assertThat(stats.mostRepeated().getValue()).isEqualTo(MODULES);
+        assertThat(stats.mostRepeated().getKey()).contains("from sub_modules");
+    }
+
+    @Test
+    void reportsTheCountOfAKnownRequest(CapturedOutput output) throws Exception {
+        MockHttpServletResponse response = doFilter(filter(2, true));
+
+        assertThat(response.getHeader(SqlStatementCountFilter.HEADER)).isEqualTo(String.valueOf(2 + MODULES));
+        DistributionSummary summary = meterRegistry.get("lms.sql.statements").tag("uri", "/api/courses/{id}").summary();
+        assertThat(summary.count()).isEqualTo(1);
+        assertThat(summary.totalAmount()).isEqualTo(2 + MODULES);
+        assertThat(output).contains("GET /api/courses/{id} issued " + (2 + MODULES) + " SQL statements (threshold 2)")
+                .contains("most repeated x" + MODULES);
+    }
+
+    @Test
+    void staysQuietUnderTheThreshold(CapturedOutput output) throws Exception {
+        MockHttpServletResponse response = doFilter(filter(30, false));
+
+        assertThat(response.getHeader(SqlStatementCountFilter.HEADER)).isNull();
+        assertThat(output).doesNotContain("SQL statements (threshold");
+    }
+
+    private SqlStatementCountFilter filter(int warnThreshold, boolean exposeHeader) {
+        SqlStatementCountFilter filter = new SqlStatementCountFilter(meterRegistry);
+        ReflectionTestUtils.setField(filter, "warnThreshold", warnThreshold);
+        ReflectionTestUtils.setField(filter, "exposeHeader", exposeHeader);
+        return filter;
+    }
+
+    private MockHttpServletResponse doFilter(SqlStatementCountFilter filter) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/courses/" + courseId);
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/courses/{id}");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = (req, res) -> {
+            walkCourseTree();
+            res.getWriter().write("{}");
+        };
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    private void walkCourseTree() {
+        Course course = courseRepository.findById(courseId).orElseThrow();
+        course.getModules().forEach(module -> module.getSubModules().size());
+    }
+}
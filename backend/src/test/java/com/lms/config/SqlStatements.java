@@ -0,0 +1,25 @@
+package com.lms.config;
+
+/**
+ * Query budgets for tests:
+ * {@code assertThat(SqlStatements.capture(() -> service.call()).getTotal()).isLessThanOrEqualTo(3)}.
+ * Needs {@link SqlStatementCounter} registered with Hibernate, e.g. through {@code @Import}.
+ */
+public final class SqlStatements {
+
+    private SqlStatements() {
+    }
+
+    /**
+     * Runs {@code work} and returns the Hibernate statements it issued on this thread.
+     */
+    public static SqlStatementCounter.Stats capture(Runnable work) {
+        SqlStatementCounter.Stats stats = SqlStatementCounter.start();
+        try {
+            work.run();
+        } finally {
+            SqlStatementCounter.stop();
+        }
+        return stats;
+    }
+}
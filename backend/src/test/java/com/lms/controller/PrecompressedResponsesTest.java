@@ -0,0 +1,45 @@
+package com.lms.controller;
+
+import com.lms.service.PrecompressedJson;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PrecompressedResponsesTest {
+    private static final PrecompressedJson PAYLOAD = new PrecompressedJson("\"abc\"", new byte[]{1, 2, 3}, new byte[]{4});
+
+    @Test
+    void gzipAndIdentityCarryDistinctEtags() {
+        ResponseEntity<byte[]> gzip = PrecompressedResponses.ok(PAYLOAD, "gzip, deflate", "test");
+        ResponseEntity<byte[]> identity = PrecompressedResponses.ok(PAYLOAD, null, "test");
+
+        assertThat(gzip.getHeaders().getETag()).isEqualTo("\"abc-gzip\"");
+        assertThat(gzip.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(identity.getHeaders().getETag()).isEqualTo("\"abc\"");
+        assertThat(identity.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isNull();
+    }
+
+    @Test
+    void gzipIsNotSentWhenTheClientCannotUseIt() {
+        PrecompressedJson incompressible = new PrecompressedJson("\"abc\"", new byte[]{1}, null);
+
+        assertThat(PrecompressedResponses.ok(incompressible, "gzip", "test").getHeaders().getETag()).isEqualTo("\"abc\"");
+    }
+
+    @Test
+    void acceptEncodingWeightsAreHonoured() {
+        assertThat(PrecompressedResponses.acceptsGzip("gzip")).isTrue();
+        assertThat(PrecompressedResponses.acceptsGzip("deflate, GZIP;q=0.5")).isTrue();
+        assertThat(PrecompressedResponses.acceptsGzip("x-gzip")).isTrue();
+        assertThat(PrecompressedResponses.acceptsGzip("*")).isTrue();
+        assertThat(PrecompressedResponses.acceptsGzip("gzip;q=0")).isFalse();
+        assertThat(PrecompressedResponses.acceptsGzip("gzip; q=0.0, *")).isFalse();
+        assertThat(PrecompressedResponses.acceptsGzip("identity, *;q=0")).isFalse();
+        assertThat(PrecompressedResponses.acceptsGzip("br, deflate")).isFalse();
+        assertThat(PrecompressedResponses.acceptsGzip("gzip;q=oops")).isFalse();
+        assertThat(PrecompressedResponses.acceptsGzip("")).isFalse();
+        assertThat(PrecompressedResponses.acceptsGzip(null)).isFalse();
+    }
+}
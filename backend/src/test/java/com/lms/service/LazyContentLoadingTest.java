@@ -0,0 +1,160 @@
+package com.lms.service;
+
+import com.lms.config.SqlStatementCounter;
+import com.lms.config.SqlStatements;
+import com.lms.dto.response.SubModuleResponse;
+import com.lms.entity.CodingQuestion;
+import com.lms.entity.Course;
+import com.lms.entity.Module;
+import com.lms.entity.Progress;
+import com.lms.entity.SubModule;
+import com.lms.entity.User;
+import com.lms.repository.CodingQuestionRepository;
+import com.lms.repository.CourseRepository;
+import com.lms.repository.McqQuestionRepository;
+import com.lms.repository.ModuleRepository;
+import com.lms.repository.ProgressRepository;
+import com.lms.repository.SubModuleRepository;
+import com.lms.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Header-only paths must not read the lazily loaded TEXT columns of SubModule and CodingQuestion.
+ */
+@DataJpaTest
+@Import(SqlStatementCounter.class)
+class LazyContentLoadingTest {
+
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private CourseRepository courseRepository;
+    @Autowired
+    private ModuleRepository moduleRepository;
+    @Autowired
+    private SubModuleRepository subModuleRepository;
+    @Autowired
+    private McqQuestionRepository mcqQuestionRepository;
+    @Autowired
+    private CodingQuestionRepository codingQuestionRepository;
+    @Autowired
+    private ProgressRepository progressRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    private Long userId;
+    private Long courseId;
+    private Long subModuleId;
+    private Long codingQuestionId;
+
+    @BeforeEach
+    void createCourse() {
+        User user = User.builder().name("Learner").email("learner@test.lms").password("x").role(User.Role.LEARNER).build();
+        entityManager.persist(user);
+        Course course = Course.builder().title("Course").published(true).createdBy(user).build();
+        entityManager.persist(course);
+        Module module = Module.builder().title("Module").orderIndex(0).course(course).build();
+        entityManager.persist(module);
+        SubModule subModule = SubModule.builder().title("Lesson").orderIndex(0).module(module)
+                .introContent("intro").bodyContent("body").summaryContent("summary").build();
+        entityManager.persist(subModule);
+        CodingQuestion question = CodingQuestion.builder().question("Implement it").orderIndex(0).subModule(subModule)
+                .starterCode("class Solution {}").solution("class Solution { /* answer */ }").build();
+        entityManager.persist(question);
+        entityManager.flush();
+        entityManager.clear();
+
+        userId = user.getId();
+        courseId = course.getId();
+        subModuleId = subModule.getId();
+        codingQuestionId = question.getId();
+    }
+
+    @Test
+    void markCompleteAttachesTheLessonWithoutItsContent() {
+        ProgressService progressService = new ProgressService(progressRepository, userRepository,
+                subModuleRepository, mock(CompletionService.class));
+
+        progressService.markComplete(userId, subModuleId);
+
+        assertContentNotLoaded(entityManager.find(SubModule.class, subModuleId));
+    }
+
+    @Test
+    void progressOnAnExistingLessonReferenceLeavesContentUnloaded() {
+        SubModule subModule = subModuleRepository.getReferenceById(subModuleId);
+        Progress progress = Progress.builder().user(userRepository.getReferenceById(userId)).subModule(subModule).completed(true).build();
+
+        progressRepository.saveAndFlush(progress);
+
+        assertThat(Hibernate.isInitialized(subModule)).isFalse();
+    }
+
+    @Test
+    void courseTreeReadsLessonHeadersOnly() {
+        CourseService courseService = new CourseService(courseRepository, userRepository, subModuleRepository,
+                null, mcqQuestionRepository, codingQuestionRepository, event -> { }, null, null);
+
+        assertThat(courseService.loadCourseById(courseId).getModules().get(0).getSubModules())
+                .singleElement()
+                .satisfies(lesson -> assertThat(lesson.getTitle()).isEqualTo("Lesson"));
+
+        assertContentNotLoaded(entityManager.find(SubModule.class, subModuleId));
+    }
+
+    @Test
+    void lessonHeaderLoadLeavesContentUnloaded() {
+        SubModule subModule = subModuleRepository.findById(subModuleId).orElseThrow();
+
+        assertThat(subModule.getTitle()).isEqualTo("Lesson");
+        assertContentNotLoaded(subModule);
+    }
+
+    @Test
+    void lessonReadIsThreeQueriesAndNeverLoadsSolutions() {
+        SubModule subModule = subModuleRepository.getReferenceById(subModuleId);
+        for (int i = 1; i <= 2; i++) {
+            entityManager.persist(CodingQuestion.builder().question("Extra " + i).orderIndex(i).subModule(subModule)
+                    .starterCode("class Extra {}").solution("class Extra { /* answer */ }").build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+        SubModuleService subModuleService = new SubModuleService(subModuleRepository, moduleRepository,
+                mcqQuestionRepository, codingQuestionRepository, event -> { });
+
+        SqlStatementCounter.Stats stats = SqlStatements.capture(() -> {
+            SubModuleResponse lesson = subModuleService.getSubModuleById(subModuleId);
+            assertThat(lesson.getBodyContent()).isEqualTo("body");
+            assertThat(lesson.getCodingQuestions()).extracting(SubModuleResponse.CodingQuestionResponse::getStarterCode)
+                    .containsExactly("class Solution {}", "class Extra {}", "class Extra {}");
+        });
+
+        // Detail projection, MCQs and coding questions, however many questions there are
+        assertThat(stats.getTotal()).isEqualTo(3);
+        assertThat(stats.getByShape().keySet()).noneMatch(sql -> sql.contains("solution"));
+    }
+
+    @Test
+    void questionHeaderLoadLeavesCodeUnloaded() {
+        CodingQuestion question = codingQuestionRepository.findById(codingQuestionId).orElseThrow();
+
+        assertThat(question.getQuestion()).isEqualTo("Implement it");
+        assertThat(Hibernate.isPropertyInitialized(question, "starterCode")).isFalse();
+        assertThat(Hibernate.isPropertyInitialized(question, "solution")).isFalse();
+    }
+
+    private static void assertContentNotLoaded(SubModule subModule) {
+        assertThat(Hibernate.isPropertyInitialized(subModule, "introContent")).isFalse();
+        assertThat(Hibernate.isPropertyInitialized(subModule, "bodyContent")).isFalse();
+        assertThat(Hibernate.isPropertyInitialized(subModule, "summaryContent")).isFalse();
+    }
+}
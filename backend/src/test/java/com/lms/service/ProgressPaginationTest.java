@@ -0,0 +1,98 @@
+package com.lms.service;
+
+import com.lms.dto.response.ProgressPageResponse;
+import com.lms.dto.response.ProgressResponse;
+import com.lms.entity.Course;
+import com.lms.entity.Module;
+import com.lms.entity.Progress;
+import com.lms.entity.SubModule;
+import com.lms.entity.User;
+import com.lms.repository.ProgressRepository;
+import com.lms.repository.SubModuleRepository;
+import com.lms.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Walking the progress pages must return every row once, in KEYSET_ORDER, including across the
+ * boundary between completed rows and rows without a completion time.
+ */
+@DataJpaTest
+class ProgressPaginationTest {
+
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private ProgressRepository progressRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private SubModuleRepository subModuleRepository;
+
+    private ProgressService progressService;
+    private Long userId;
+    private final List<Long> expectedOrder = new ArrayList<>();
+
+    @BeforeEach
+    void createProgress() {
+        User user = User.builder().name("Learner").email("learner@test.lms").password("x").role(User.Role.LEARNER).build();
+        entityManager.persist(user);
+        Course course = Course.builder().title("Course").published(true).createdBy(user).build();
+        entityManager.persist(course);
+        Module module = Module.builder().title("Module").orderIndex(0).course(course).build();
+        entityManager.persist(module);
+
+        LocalDateTime noon = LocalDateTime.of(2024, 1, 1, 12, 0);
+        // Two rows share a completion time so the id tie-break is exercised
+        LocalDateTime[] completedAt = {noon.minusHours(1), noon, noon, null, noon.plusHours(1), null};
+        List<Progress> rows = new ArrayList<>();
+        for (int i = 0; i < completedAt.length; i++) {
+            SubModule lesson = SubModule.builder().title("Lesson " + i).orderIndex(i).module(module).build();
+            entityManager.persist(lesson);
+            Progress progress = Progress.builder().user(user).subModule(lesson)
+                    .completed(completedAt[i] != null).completedAt(completedAt[i]).build();
+            entityManager.persist(progress);
+            rows.add(progress);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        userId = user.getId();
+        expectedOrder.add(rows.get(4).getId());
+        expectedOrder.add(Math.max(rows.get(1).getId(), rows.get(2).getId()));
+        expectedOrder.add(Math.min(rows.get(1).getId(), rows.get(2).getId()));
+        expectedOrder.add(rows.get(0).getId());
+        expectedOrder.add(Math.max(rows.get(3).getId(), rows.get(5).getId()));
+        expectedOrder.add(Math.min(rows.get(3).getId(), rows.get(5).getId()));
+        progressService = new ProgressService(progressRepository, userRepository, subModuleRepository,
+                mock(CompletionService.class));
+    }
+
+    @Test
+    void pagesCoverEveryRowOnceAcrossTheCompletedBoundary() {
+        for (int pageSize = 1; pageSize <= expectedOrder.size() + 1; pageSize++) {
+            assertThat(walk(pageSize)).as("page size %d", pageSize).containsExactlyElementsOf(expectedOrder);
+        }
+    }
+
+    private List<Long> walk(int pageSize) {
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            ProgressPageResponse page = progressService.getUserProgress(userId, cursor, pageSize);
+            page.getItems().stream().map(ProgressResponse::getId).forEach(ids::add);
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return ids;
+    }
+}
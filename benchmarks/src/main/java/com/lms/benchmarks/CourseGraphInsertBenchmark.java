@@ -0,0 +1,141 @@
+package com.lms.benchmarks;
+
+import com.lms.entity.CodingQuestion;
+import com.lms.entity.Course;
+import com.lms.entity.Enrollment;
+import com.lms.entity.McqQuestion;
+import com.lms.entity.Module;
+import com.lms.entity.Progress;
+import com.lms.entity.SubModule;
+import com.lms.entity.User;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Saving a 500-question course (5 modules x 5 lessons x 20 questions, 531 rows) through JPA,
+ * with the entities' pooled-lo sequences and the backend's batching settings, against the same
+ * entities on IDENTITY ids (identity-ids.orm.xml), where Hibernate needs every row's generated
+ * key back before the next insert and silently gives up on JDBC batching. The statements one
+ * save issues under each mapping are printed during setup.
+ *
+ * Needs a running Postgres; by default the one from loadtest/docker-compose.yml. Override with
+ * -Dlms.bench.jdbc-url, -Dlms.bench.jdbc-user and -Dlms.bench.jdbc-password. Tables are created
+ * in the bench_identity and bench_sequence schemas and dropped afterwards.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CourseGraphInsertBenchmark {
+    private static final int MODULES = 5;
+    private static final int LESSONS_PER_MODULE = 5;
+    private static final int QUESTIONS_PER_LESSON = 20;
+
+    private SessionFactory identityIds;
+    private SessionFactory pooledSequences;
+
+    @Setup
+    public void setUp() {
+        identityIds = sessionFactory("bench_identity", true);
+        pooledSequences = sessionFactory("bench_sequence", false);
+        System.out.printf("%nCourseGraphInsertBenchmark: %d questions per course; statements prepared per save: " +
+                        "identity %d, pooled sequence %d%n", MODULES * LESSONS_PER_MODULE * QUESTIONS_PER_LESSON,
+                statementsPerSave(identityIds), statementsPerSave(pooledSequences));
+    }
+
+    @TearDown
+    public void tearDown() {
+        identityIds.close();
+        pooledSequences.close();
+    }
+
+    @Benchmark
+    public Long identity() {
+        return save(identityIds);
+    }
+
+    @Benchmark
+    public Long pooledSequence() {
+        return save(pooledSequences);
+    }
+
+    private static long statementsPerSave(SessionFactory sessionFactory) {
+        sessionFactory.getStatistics().clear();
+        save(sessionFactory);
+        // One per row for IDENTITY; with batching, one per table and sequence, reused across batches
+        return sessionFactory.getStatistics().getPrepareStatementCount();
+    }
+
+    /**
+     * Persists a new course tree in one transaction, cascading from the course.
+     */
+    private static Long save(SessionFactory sessionFactory) {
+        Course course = course();
+        try (Session session = sessionFactory.openSession()) {
+            session.getTransaction().begin();
+            session.persist(course);
+            session.getTransaction().commit();
+        }
+        return course.getId();
+    }
+
+    private static Course course() {
+        Course course = Course.builder().title("Benchmark Course").description("Course description")
+                .category("Programming").difficulty(Course.Difficulty.BEGINNER).published(true).build();
+        for (int m = 0; m < MODULES; m++) {
+            Module module = Module.builder().title("Module " + m).orderIndex(m).course(course).build();
+            course.getModules().add(module);
+            for (int s = 0; s < LESSONS_PER_MODULE; s++) {
+                SubModule lesson = SubModule.builder().title("Lesson " + m + "." + s).orderIndex(s).module(module)
+                        .introContent("Intro").bodyContent("Body").summaryContent("Summary").build();
+                module.getSubModules().add(lesson);
+                for (int q = 0; q < QUESTIONS_PER_LESSON / 2; q++) {
+                    lesson.getMcqQuestions().add(McqQuestion.builder().subModule(lesson).question("Question " + q)
+                            .optionA("A").optionB("B").optionC("C").optionD("D").correctOption("A").orderIndex(q)
+                            .build());
+                    lesson.getCodingQuestions().add(CodingQuestion.builder().subModule(lesson).question("Exercise " + q)
+                            .starterCode("class Solution {}").solution("class Solution { }").hint("Hint")
+                            .orderIndex(q).build());
+                }
+            }
+        }
+        return course;
+    }
+
+    private static SessionFactory sessionFactory(String schema, boolean identityIds) {
+        // The backend's JPA settings (application.properties), minus the second-level cache
+        StandardServiceRegistry registry = new StandardServiceRegistryBuilder()
+                .applySettings(Map.of(
+                        AvailableSettings.URL,
+                        System.getProperty("lms.bench.jdbc-url", "jdbc:postgresql://localhost:5433/lms_loadtest"),
+                        AvailableSettings.USER, System.getProperty("lms.bench.jdbc-user", "lms"),
+                        AvailableSettings.PASS, System.getProperty("lms.bench.jdbc-password", "lms"),
+                        AvailableSettings.DEFAULT_SCHEMA, schema,
+                        AvailableSettings.HBM2DDL_CREATE_SCHEMAS, true,
+                        AvailableSettings.HBM2DDL_AUTO, "create-drop",
+                        AvailableSettings.STATEMENT_BATCH_SIZE, 50,
+                        AvailableSettings.ORDER_INSERTS, true,
+                        AvailableSettings.PREFERRED_POOLED_OPTIMIZER, "pooled-lo"))
+                .applySetting(AvailableSettings.USE_SECOND_LEVEL_CACHE, false)
+                .applySetting(AvailableSettings.GENERATE_STATISTICS, true)
+                .applySetting(AvailableSettings.LOG_SESSION_METRICS, false)
+                .build();
+        MetadataSources sources = new MetadataSources(registry)
+                .addAnnotatedClasses(User.class, Course.class, Module.class, SubModule.class, McqQuestion.class,
+                        CodingQuestion.class, Enrollment.class, Progress.class);
+        if (identityIds) {
+            sources.addResource("identity-ids.orm.xml");
+        }
+        return sources.buildMetadata().buildSessionFactory();
+    }
+}
@@ -0,0 +1,91 @@
+package com.lms.benchmarks;
+
+import com.lms.entity.Course;
+import com.lms.entity.SubModule;
+import com.lms.repository.CodingQuestionContent;
+import com.lms.repository.CodingQuestionRepository;
+import com.lms.repository.CourseRepository;
+import com.lms.repository.McqQuestionRepository;
+import com.lms.repository.ModuleRepository;
+import com.lms.repository.SubModuleDetail;
+import com.lms.repository.SubModuleRepository;
+import com.lms.repository.UserRepository;
+import com.lms.service.CourseService;
+import com.lms.service.CourseSuggestionService;
+import com.lms.service.SubModuleService;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity-to-DTO mapping on fully initialised in-memory graphs, i.e. the CPU cost of
+ * mapping with every association already loaded and repository queries stubbed out.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CourseMappingBenchmark {
+
+    @Param({"5", "20"})
+    public int modules;
+
+    @Param({"10"})
+    public int subModulesPerModule;
+
+    private CourseService courseService;
+    private SubModuleService subModuleService;
+    private Method courseDetailedMapper;
+    private Method subModuleDetailedMapper;
+    private Course course;
+    private List<SubModule> courseSubModules;
+    private SubModuleDetail subModule;
+
+    @Setup
+    public void setUp() {
+        CourseSuggestionService suggestions = new CourseSuggestionService(null, null);
+        courseService = new CourseService(
+                Fixtures.stubRepository(CourseRepository.class, 0),
+                Fixtures.stubRepository(UserRepository.class, 0),
+                Fixtures.stubRepository(SubModuleRepository.class, modules * subModulesPerModule),
+                suggestions,
+                Fixtures.stubRepository(McqQuestionRepository.class, 0),
+                Fixtures.stubRepository(CodingQuestionRepository.class, 0),
+                event -> { },
+                null,
+                null);
+        course = Fixtures.course(modules, subModulesPerModule, 10);
+        courseSubModules = course.getModules().stream().flatMap(module -> module.getSubModules().stream()).toList();
+        SubModule lesson = courseSubModules.get(0);
+        subModule = new SubModuleDetail(lesson.getId(), lesson.getTitle(), lesson.getOrderIndex(),
+                lesson.getModule().getId(), lesson.getIntroContent(), lesson.getBodyContent(),
+                lesson.getSummaryContent(), lesson.getVideoUrl());
+        List<CodingQuestionContent> codingQuestions = lesson.getCodingQuestions().stream()
+                .map(q -> new CodingQuestionContent(q.getId(), q.getQuestion(), q.getStarterCode(), q.getHint(), q.getOrderIndex()))
+                .toList();
+
+        subModuleService = new SubModuleService(
+                Fixtures.stubRepository(SubModuleRepository.class, 0),
+                Fixtures.stubRepository(ModuleRepository.class, 0),
+                Fixtures.stubRepository(McqQuestionRepository.class, 0, lesson.getMcqQuestions()),
+                Fixtures.stubRepository(CodingQuestionRepository.class, 0, codingQuestions),
+                event -> { });
+
+        courseDetailedMapper = Fixtures.privateMethod(CourseService.class, "mapToDetailedResponse", Course.class, List.class);
+        subModuleDetailedMapper = Fixtures.privateMethod(SubModuleService.class, "mapToDetailedResponse", SubModuleDetail.class);
+    }
+
+    @Benchmark
+    public Object courseMapToDetailedResponse() throws Exception {
+        return courseDetailedMapper.invoke(courseService, course, courseSubModules);
+    }
+
+    @Benchmark
+    public Object subModuleMapToDetailedResponse() throws Exception {
+        return subModuleDetailedMapper.invoke(subModuleService, subModule);
+    }
+}
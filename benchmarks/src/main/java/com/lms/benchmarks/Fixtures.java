@@ -0,0 +1,120 @@
+package com.lms.benchmarks;
+
+import com.lms.entity.CodingQuestion;
+import com.lms.entity.Course;
+import com.lms.entity.McqQuestion;
+import com.lms.entity.Module;
+import com.lms.entity.SubModule;
+import com.lms.entity.User;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * In-memory entity graphs and reflection helpers shared by the benchmarks.
+ */
+final class Fixtures {
+    private static final String PARAGRAPH = "Lorem ipsum dolor sit amet, consectetur adipiscing elit. ".repeat(40);
+
+    private Fixtures() {
+    }
+
+    static Course course(int modules, int subModulesPerModule, int questionsPerSubModule) {
+        User author = User.builder().id(1L).name("Author").email("author@lms.com").role(User.Role.ADMIN).build();
+        Course course = Course.builder()
+                .id(1L)
+                .title("Benchmark Course")
+                .description(PARAGRAPH)
+                .category("Programming")
+                .difficulty(Course.Difficulty.INTERMEDIATE)
+                .published(true)
+                .createdBy(author)
+                .createdAt(LocalDateTime.now())
+                .build();
+        long id = 1;
+        for (int m = 0; m < modules; m++) {
+            Module module = Module.builder().id(id++).title("Module " + m).orderIndex(m).course(course).build();
+            for (int s = 0; s < subModulesPerModule; s++) {
+                module.getSubModules().add(subModule(id++, s, module, questionsPerSubModule));
+            }
+            course.getModules().add(module);
+        }
+        return course;
+    }
+
+    static SubModule subModule(long id, int orderIndex, Module module, int questions) {
+        SubModule subModule = SubModule.builder()
+                .id(id)
+                .title("Lesson " + orderIndex)
+                .orderIndex(orderIndex)
+                .module(module)
+                .introContent(PARAGRAPH)
+                .bodyContent(PARAGRAPH.repeat(5))
+                .summaryContent(PARAGRAPH)
+                .build();
+        for (int q = 0; q < questions; q++) {
+            subModule.getMcqQuestions().add(McqQuestion.builder()
+                    .id((long) q).subModule(subModule).question("Question " + q)
+                    .optionA("A").optionB("B").optionC("C").optionD("D").correctOption("A").orderIndex(q)
+                    .build());
+            subModule.getCodingQuestions().add(CodingQuestion.builder()
+                    .id((long) q).subModule(subModule).question("Implement " + q)
+                    .starterCode("class Solution {}").solution("class Solution { }").hint("Think").orderIndex(q)
+                    .build());
+        }
+        return subModule;
+    }
+
+    /**
+     * Repository stand-in whose int/long/boolean methods return fixed values and everything else null.
+     */
+    static <T> T stubRepository(Class<T> type, int count) {
+        return stubRepository(type, count, List.of());
+    }
+
+    /**
+     * Like {@link #stubRepository(Class, int)}, but list-returning queries answer {@code rows}.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T stubRepository(Class<T> type, int count, List<?> rows) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            Class<?> returnType = method.getReturnType();
+            if (returnType == int.class) {
+                return count;
+            }
+            if (returnType == long.class) {
+                return (long) count;
+            }
+            if (returnType == boolean.class) {
+                return false;
+            }
+            if (returnType == List.class) {
+                return rows;
+            }
+            return null;
+        });
+    }
+
+    static void setField(Object target, String name, Object value) {
+        try {
+            Field field = target.getClass().getDeclaredField(name);
+            field.setAccessible(true);
+            field.set(target, value);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static Method privateMethod(Class<?> type, String name, Class<?>... parameterTypes) {
+        try {
+            Method method = type.getDeclaredMethod(name, parameterTypes);
+            method.setAccessible(true);
+            return method;
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
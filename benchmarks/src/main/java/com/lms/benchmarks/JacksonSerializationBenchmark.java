@@ -0,0 +1,84 @@
+package com.lms.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lms.dto.response.CourseResponse;
+import com.lms.dto.response.ModuleResponse;
+import com.lms.dto.response.SubModuleResponse;
+import com.lms.entity.Course;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialisation of large CourseResponse trees with an ObjectMapper configured the way
+ * Spring Boot configures the one used for HTTP responses.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JacksonSerializationBenchmark {
+
+    @Param({"10", "50"})
+    public int modules;
+
+    @Param({"20"})
+    public int subModulesPerModule;
+
+    private ObjectMapper objectMapper;
+    private CourseResponse response;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        List<ModuleResponse> moduleResponses = new ArrayList<>();
+        String body = "Lorem ipsum dolor sit amet, consectetur adipiscing elit. ".repeat(100);
+        for (int m = 0; m < modules; m++) {
+            List<SubModuleResponse> subModules = new ArrayList<>();
+            for (int s = 0; s < subModulesPerModule; s++) {
+                subModules.add(SubModuleResponse.builder()
+                        .id((long) (m * 1000 + s))
+                        .title("Lesson " + s)
+                        .orderIndex(s)
+                        .moduleId((long) m)
+                        .introContent(body)
+                        .bodyContent(body)
+                        .summaryContent(body)
+                        .build());
+            }
+            moduleResponses.add(ModuleResponse.builder()
+                    .id((long) m)
+                    .title("Module " + m)
+                    .orderIndex(m)
+                    .courseId(1L)
+                    .subModuleCount(subModules.size())
+                    .subModules(subModules)
+                    .build());
+        }
+        response = CourseResponse.builder()
+                .id(1L)
+                .title("Benchmark Course")
+                .description(body)
+                .category("Programming")
+                .difficulty(Course.Difficulty.ADVANCED)
+                .published(true)
+                .createdByName("Author")
+                .createdById(1L)
+                .moduleCount(modules)
+                .totalSubModules(modules * subModulesPerModule)
+                .createdAt(LocalDateTime.now())
+                .modules(moduleResponses)
+                .build();
+    }
+
+    @Benchmark
+    public byte[] serializeCourseTree() throws Exception {
+        return objectMapper.writeValueAsBytes(response);
+    }
+}
@@ -0,0 +1,45 @@
+package com.lms.benchmarks;
+
+import com.lms.service.JwtService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtServiceBenchmark {
+    private JwtService jwtService;
+    private UserDetails userDetails;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService();
+        Fixtures.setField(jwtService, "secret", "mySecretKeyForJwtTokenGenerationThatIsAtLeast256BitsLongForHS256Algorithm");
+        Fixtures.setField(jwtService, "expiration", 86_400_000L);
+        userDetails = new User("learner@lms.com", "hash", Collections.emptyList());
+        token = jwtService.generateToken("learner@lms.com", 42L, "LEARNER");
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken("learner@lms.com", 42L, "LEARNER");
+    }
+
+    @Benchmark
+    public Boolean validateToken() {
+        return jwtService.validateToken(token, userDetails);
+    }
+
+    @Benchmark
+    public String extractUsername() {
+        return jwtService.extractUsername(token);
+    }
+}
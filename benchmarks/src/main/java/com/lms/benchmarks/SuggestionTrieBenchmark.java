@@ -0,0 +1,66 @@
+package com.lms.benchmarks;
+
+import com.lms.service.SuggestionTrie;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Typeahead lookup latency on the catalog suggestion trie. The retained heap of the
+ * populated trie is printed during setup, giving memory per 100k entries.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SuggestionTrieBenchmark {
+    private static final String[] WORDS = {
+            "java", "spring", "intro", "advanced", "data", "python", "react", "design", "systems",
+            "cloud", "security", "testing", "algorithms", "web", "mobile", "machine", "learning", "sql"
+    };
+
+    @Param({"100000"})
+    public int entries;
+
+    private SuggestionTrie<Integer> trie;
+    private String[] prefixes;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        long before = usedHeap();
+        trie = new SuggestionTrie<>();
+        for (int i = 0; i < entries; i++) {
+            String title = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)]
+                    + " " + WORDS[random.nextInt(WORDS.length)] + " " + i;
+            trie.insert(title, i);
+        }
+        long retained = usedHeap() - before;
+        System.out.printf("%nSuggestionTrie: %d entries retain ~%d KB (%.1f bytes/entry)%n",
+                trie.size(), retained / 1024, (double) retained / trie.size());
+
+        prefixes = new String[256];
+        for (int i = 0; i < prefixes.length; i++) {
+            String word = WORDS[random.nextInt(WORDS.length)];
+            prefixes[i] = word.substring(0, 1 + random.nextInt(word.length()));
+        }
+    }
+
+    @Benchmark
+    public List<Integer> searchTop10() {
+        return trie.search(prefixes[next++ & (prefixes.length - 1)], 10);
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
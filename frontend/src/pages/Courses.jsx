@@ -2,6 +2,7 @@ import { useState, useEffect } from 'react'
 import { Link } from 'react-router-dom'
 import { motion } from 'framer-motion'
 import api from '../api/axios'
+import { useAuth } from '../context/AuthContext'
 
 // Skeleton Loader
 const Skeleton = ({ className }) => (
@@ -9,16 +10,24 @@ const Skeleton = ({ className }) => (
 )
 
 export default function Courses() {
+  const { user } = useAuth()
   const [courses, setCourses] = useState([])
   const [loading, setLoading] = useState(true)
   const [selectedCategory, setSelectedCategory] = useState('all')
   const [categories, setCategories] = useState([])
+  const [enrolledIds, setEnrolledIds] = useState(new Set())
 
   useEffect(() => {
     fetchCourses()
     fetchCategories()
   }, [])
 
+  useEffect(() => {
+    if (user) {
+      fetchEnrolledIds()
+    }
+  }, [user])
+
   const fetchCourses = async () => {
     try {
       const response = await api.get('/courses')
@@ -39,6 +48,15 @@ export default function Courses() {
     }
   }
 
+  const fetchEnrolledIds = async () => {
+    try {
+      const response = await api.get('/enrollments/course-ids')
+      setEnrolledIds(new Set(response.data))
+    } catch (error) {
+      console.error('Failed to fetch enrolled courses:', error)
+    }
+  }
+
   const filteredCourses = selectedCategory === 'all' 
     ? courses 
     : courses.filter(c => c.category === selectedCategory)
@@ -152,6 +170,11 @@ export default function Courses() {
                       </svg>
                     </div>
                   )}
+                  {enrolledIds.has(course.id) && (
+                    <span className="absolute top-3 right-3 text-xs font-medium px-2 py-0.5 rounded bg-green-50 text-green-700">
+                      Enrolled
+                    </span>
+                  )}
                 </div>
                 <div className="p-5">
                   <div className="flex items-center gap-2 mb-3">
@@ -31,25 +31,24 @@ export default function Learning() {
   }, [courseId])
 
   const fetchData = async () => {
+    performance.mark('learning-open')
     try {
-      const [courseRes, modulesRes, progressRes] = await Promise.all([
-        api.get(`/courses/${courseId}`),
-        api.get(`/modules/course/${courseId}`),
-        api.get(`/progress/course/${courseId}`)
-      ])
-      
-      setCourse(courseRes.data)
-      setModules(modulesRes.data || [])
-      setProgress(progressRes.data || [])
-      
-      if (modulesRes.data.length > 0) {
-        setExpandedModules([modulesRes.data[0].id])
-        const firstModule = modulesRes.data[0]
-        if (firstModule.subModules && firstModule.subModules.length > 0) {
-          const subModuleRes = await api.get(`/submodules/${firstModule.subModules[0].id}`)
-          setCurrentSubModule(subModuleRes.data)
-        }
+      // One round trip: outline, completed lessons, enrollment and the lesson to resume at
+      const { data } = await api.get(`/learn/${courseId}`)
+      const courseModules = data.course?.modules || []
+
+      setCourse(data.course)
+      setModules(courseModules)
+      setProgress((data.completedSubModuleIds || []).map(id => ({ subModuleId: id, completed: true })))
+      setCurrentSubModule(data.currentLesson)
+
+      if (courseModules.length > 0) {
+        const currentModule = data.currentLesson
+          ? courseModules.find(m => m.id === data.currentLesson.moduleId)
+          : null
+        setExpandedModules([(currentModule || courseModules[0]).id])
       }
+      performance.measure('time-to-first-lesson', 'learning-open')
     } catch (error) {
       console.error('Failed to fetch course data:', error)
     } finally {
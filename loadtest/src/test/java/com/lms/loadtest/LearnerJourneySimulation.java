@@ -0,0 +1,99 @@
+package com.lms.loadtest;
+
+import io.gatling.javaapi.core.ChainBuilder;
+import io.gatling.javaapi.core.ScenarioBuilder;
+import io.gatling.javaapi.core.Simulation;
+import io.gatling.javaapi.http.HttpProtocolBuilder;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Stream;
+
+import static io.gatling.javaapi.core.CoreDsl.*;
+import static io.gatling.javaapi.http.HttpDsl.*;
+
+/**
+ * Replays the learner journey catalog -> course -> lesson -> complete against a backend
+ * seeded by LoadTestDataGenerator (SPRING_PROFILES_ACTIVE=seed).
+ *
+ * Tunables (system properties): baseUrl, users (seeded learner count), rampUsers,
+ * rampSeconds, constantUsersPerSec, durationSeconds.
+ */
+public class LearnerJourneySimulation extends Simulation {
+    private static final String BASE_URL = System.getProperty("baseUrl", "http://localhost:8080");
+    private static final int SEEDED_USERS = Integer.getInteger("users", 10000);
+    private static final int RAMP_USERS = Integer.getInteger("rampUsers", 200);
+    private static final int RAMP_SECONDS = Integer.getInteger("rampSeconds", 60);
+    private static final double CONSTANT_RATE = Double.parseDouble(System.getProperty("constantUsersPerSec", "20"));
+    private static final int DURATION_SECONDS = Integer.getInteger("durationSeconds", 300);
+
+    private final Iterator<Map<String, Object>> learners = Stream.generate(() -> Map.<String, Object>of(
+            "email", "learner" + ThreadLocalRandom.current().nextInt(SEEDED_USERS) + "@loadtest.lms",
+            "password", "password123")).iterator();
+
+    private final HttpProtocolBuilder httpProtocol = http
+            .baseUrl(BASE_URL)
+            .acceptHeader("application/json")
+            .contentTypeHeader("application/json");
+
+    private final ChainBuilder login = feed(learners)
+            .exec(http("login")
+                    .post("/api/auth/login")
+                    .body(StringBody("{\"email\":\"#{email}\",\"password\":\"#{password}\"}"))
+                    .check(status().is(200), jsonPath("$.token").saveAs("token")));
+
+    private final ChainBuilder browseCatalog = exec(http("catalog")
+            .get("/api/courses")
+            .check(status().is(200), jsonPath("$[*].id").findRandom().saveAs("courseId")))
+            .exec(http("categories").get("/api/courses/categories").check(status().is(200)))
+            .pause(Duration.ofMillis(500), Duration.ofSeconds(2));
+
+    private final ChainBuilder viewCourse = exec(http("course detail")
+            .get("/api/courses/#{courseId}")
+            .check(status().is(200)))
+            .exec(http("enrollment check")
+                    .get("/api/enrollments/check/#{courseId}")
+                    .header("Authorization", "Bearer #{token}")
+                    .check(status().is(200)))
+            .exec(http("enroll")
+                    .post("/api/enrollments/course/#{courseId}")
+                    .header("Authorization", "Bearer #{token}")
+                    // 400 means the seeded learner is already enrolled, which is fine here
+                    .check(status().in(200, 400)))
+            .pause(Duration.ofMillis(500), Duration.ofSeconds(2));
+
+    private final ChainBuilder learn = exec(http("outline")
+            .get("/api/modules/course/#{courseId}")
+            .check(status().is(200), jsonPath("$[*].subModules[*].id").findRandom().saveAs("lessonId")))
+            .exec(http("course progress")
+                    .get("/api/progress/course/#{courseId}")
+                    .header("Authorization", "Bearer #{token}")
+                    .check(status().is(200)))
+            .exec(http("lesson")
+                    .get("/api/submodules/#{lessonId}")
+                    .check(status().is(200)))
+            .pause(Duration.ofSeconds(2), Duration.ofSeconds(5))
+            .exec(http("complete lesson")
+                    .post("/api/progress/complete/#{lessonId}")
+                    .header("Authorization", "Bearer #{token}")
+                    .check(status().is(200)))
+            .exec(http("my enrollments")
+                    .get("/api/enrollments")
+                    .header("Authorization", "Bearer #{token}")
+                    .check(status().is(200)));
+
+    private final ScenarioBuilder learnerJourney = scenario("Learner journey")
+            .exec(login, browseCatalog, viewCourse, learn);
+
+    {
+        setUp(learnerJourney.injectOpen(
+                rampUsers(RAMP_USERS).during(Duration.ofSeconds(RAMP_SECONDS)),
+                constantUsersPerSec(CONSTANT_RATE).during(Duration.ofSeconds(DURATION_SECONDS))))
+                .protocols(httpProtocol)
+                .assertions(
+                        global().failedRequests().percent().lt(1.0),
+                        global().responseTime().percentile(99.0).lt(2000));
+    }
+}
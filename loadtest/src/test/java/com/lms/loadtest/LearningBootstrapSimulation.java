@@ -0,0 +1,76 @@
+package com.lms.loadtest;
+
+import io.gatling.javaapi.core.ChainBuilder;
+import io.gatling.javaapi.core.ScenarioBuilder;
+import io.gatling.javaapi.core.Simulation;
+import io.gatling.javaapi.http.HttpProtocolBuilder;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Stream;
+
+import static io.gatling.javaapi.core.CoreDsl.*;
+import static io.gatling.javaapi.http.HttpDsl.*;
+
+/**
+ * Time-to-first-lesson when opening the learning page: the original four-call bootstrap
+ * (course, modules and progress in parallel, then the first lesson) against the single
+ * GET /api/learn/{courseId}. Compare the two group timings in the report.
+ *
+ * Tunables (system properties): baseUrl, users (seeded learner count), usersPerSec, durationSeconds.
+ */
+public class LearningBootstrapSimulation extends Simulation {
+    private static final String BASE_URL = System.getProperty("baseUrl", "http://localhost:8080");
+    private static final int SEEDED_USERS = Integer.getInteger("users", 10000);
+    private static final double USERS_PER_SEC = Double.parseDouble(System.getProperty("usersPerSec", "10"));
+    private static final int DURATION_SECONDS = Integer.getInteger("durationSeconds", 120);
+
+    private final Iterator<Map<String, Object>> learners = Stream.generate(() -> Map.<String, Object>of(
+            "email", "learner" + ThreadLocalRandom.current().nextInt(SEEDED_USERS) + "@loadtest.lms",
+            "password", "password123")).iterator();
+
+    private final HttpProtocolBuilder httpProtocol = http
+            .baseUrl(BASE_URL)
+            .acceptHeader("application/json")
+            .acceptEncodingHeader("gzip")
+            .contentTypeHeader("application/json");
+
+    private final ChainBuilder loginAndPickCourse = feed(learners)
+            .exec(http("login")
+                    .post("/api/auth/login")
+                    .body(StringBody("{\"email\":\"#{email}\",\"password\":\"#{password}\"}"))
+                    .check(status().is(200), jsonPath("$.token").saveAs("token")))
+            .exec(http("catalog")
+                    .get("/api/courses")
+                    .check(status().is(200), jsonPath("$[*].id").findRandom().saveAs("courseId")));
+
+    private final ChainBuilder legacyBootstrap = group("time-to-first-lesson (4 calls)").on(
+            exec(http("course").get("/api/courses/#{courseId}").check(status().is(200))
+                    .resources(
+                            http("modules").get("/api/modules/course/#{courseId}")
+                                    .check(jsonPath("$[0].subModules[0].id").saveAs("firstLessonId")),
+                            http("progress").get("/api/progress/course/#{courseId}")
+                                    .header("Authorization", "Bearer #{token}")))
+                    .exec(http("first lesson").get("/api/submodules/#{firstLessonId}").check(status().is(200))));
+
+    private final ChainBuilder learnBootstrap = group("time-to-first-lesson (learn endpoint)").on(
+            exec(http("learn")
+                    .get("/api/learn/#{courseId}")
+                    .header("Authorization", "Bearer #{token}")
+                    .check(status().is(200))));
+
+    private final ScenarioBuilder legacy = scenario("Legacy learning bootstrap")
+            .exec(loginAndPickCourse, legacyBootstrap);
+
+    private final ScenarioBuilder aggregated = scenario("Aggregated learning bootstrap")
+            .exec(loginAndPickCourse, learnBootstrap);
+
+    {
+        setUp(
+                legacy.injectOpen(constantUsersPerSec(USERS_PER_SEC).during(Duration.ofSeconds(DURATION_SECONDS))),
+                aggregated.injectOpen(constantUsersPerSec(USERS_PER_SEC).during(Duration.ofSeconds(DURATION_SECONDS))))
+                .protocols(httpProtocol);
+    }
+}
@@ -0,0 +1,77 @@
+package com.lms.loadtest;
+
+import io.gatling.javaapi.core.ChainBuilder;
+import io.gatling.javaapi.core.ScenarioBuilder;
+import io.gatling.javaapi.core.Simulation;
+import io.gatling.javaapi.http.HttpProtocolBuilder;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Stream;
+
+import static io.gatling.javaapi.core.CoreDsl.*;
+import static io.gatling.javaapi.http.HttpDsl.*;
+
+/**
+ * Holds a fixed number of concurrent learners (10k by default) on the blocking read paths, to
+ * compare the backend on platform threads against the virtual-threads profile. Run it once per
+ * mode against the same seeded database and compare throughput and p99 in the two reports;
+ * threadModel only labels the scenario so the reports can be told apart.
+ *
+ * Tunables (system properties): baseUrl, users (seeded learner count), concurrentUsers,
+ * rampSeconds, holdSeconds, threadModel.
+ */
+public class ThreadModelSimulation extends Simulation {
+    private static final String BASE_URL = System.getProperty("baseUrl", "http://localhost:8080");
+    private static final int SEEDED_USERS = Integer.getInteger("users", 10000);
+    private static final int CONCURRENT_USERS = Integer.getInteger("concurrentUsers", 10000);
+    private static final int RAMP_SECONDS = Integer.getInteger("rampSeconds", 120);
+    private static final int HOLD_SECONDS = Integer.getInteger("holdSeconds", 300);
+    private static final String THREAD_MODEL = System.getProperty("threadModel", "platform");
+
+    private final Iterator<Map<String, Object>> learners = Stream.generate(() -> Map.<String, Object>of(
+            "email", "learner" + ThreadLocalRandom.current().nextInt(SEEDED_USERS) + "@loadtest.lms",
+            "password", "password123")).iterator();
+
+    private final HttpProtocolBuilder httpProtocol = http
+            .baseUrl(BASE_URL)
+            .acceptHeader("application/json")
+            // Gatling's default of one connection per learner is what loads Tomcat's request threads
+            .contentTypeHeader("application/json");
+
+    private final ChainBuilder login = feed(learners)
+            .exec(http("login")
+                    .post("/api/auth/login")
+                    .body(StringBody("{\"email\":\"#{email}\",\"password\":\"#{password}\"}"))
+                    .check(status().is(200), jsonPath("$.token").saveAs("token")))
+            .exec(http("catalog")
+                    .get("/api/courses")
+                    .check(status().is(200), jsonPath("$[*].id").findRandom().saveAs("courseId")));
+
+    // Every learner stays until the end, so concurrency holds at CONCURRENT_USERS after the ramp
+    private final ChainBuilder study = during(Duration.ofSeconds(RAMP_SECONDS + HOLD_SECONDS)).on(
+            exec(http("course detail")
+                    .get("/api/courses/#{courseId}")
+                    .check(status().is(200)))
+                    .exec(http("learn")
+                            .get("/api/learn/#{courseId}")
+                            .header("Authorization", "Bearer #{token}")
+                            .check(status().is(200)))
+                    .exec(http("course progress")
+                            .get("/api/progress/course/#{courseId}")
+                            .header("Authorization", "Bearer #{token}")
+                            .check(status().is(200)))
+                    .pause(Duration.ofSeconds(1), Duration.ofSeconds(3)));
+
+    private final ScenarioBuilder learners10k = scenario("Concurrent learners (" + THREAD_MODEL + " threads)")
+            .exec(login, study);
+
+    {
+        setUp(learners10k.injectOpen(rampUsers(CONCURRENT_USERS).during(Duration.ofSeconds(RAMP_SECONDS))))
+                .protocols(httpProtocol)
+                .maxDuration(Duration.ofSeconds(RAMP_SECONDS + HOLD_SECONDS + 60))
+                .assertions(global().failedRequests().percent().lt(1.0));
+    }
+}